@@ -0,0 +1,82 @@
+package atomatus;
+
+import atomatus.linq.CollectionHelper;
+import atomatus.linq.IterableResult;
+import atomatus.util.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Stress of filter stages on long rejection runs,
+ * filtering 10M elements (or count set on first argument) at 0.001% selectivity.
+ * Each stage must iterate without recursion (non StackOverflowError) and find all expected elements.
+ */
+public class FilterBenchmark {
+
+    private static final int STEP = 100_000;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int expected = (count + STEP - 1) / STEP;
+
+        Integer[] values = new Integer[STEP];
+        for (int i = 0; i < STEP; i++) values[i] = i;
+
+        Integer[] arr = new Integer[count];
+        for (int i = 0; i < count; i++) arr[i] = values[i % STEP];
+
+        List<Object> mixed = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) mixed.add(i % STEP == 0 ? String.valueOf(i) : values[i % STEP]);
+
+        Iterable<Integer> sequence = () -> new Iterator<Integer>() {
+            int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Integer next() {
+                if (index == count) throw new NoSuchElementException();
+                return values[index++ % STEP];
+            }
+        };
+
+        System.out.printf("Filter benchmark (%d elements, %d expected):\n", count, expected);
+
+        run("Filter (iterable)", expected,
+                CollectionHelper.filter(sequence, e -> e == 0));
+
+        run("Filter (array)", expected,
+                CollectionHelper.filter(arr, e -> e == 0));
+
+        run("Filter (array, fused)", expected,
+                CollectionHelper.filter(arr, e -> e < 10).filter(e -> e == 0));
+
+        run("Filter (class type)", expected,
+                CollectionHelper.filterAsIterable(String.class, mixed, null, null));
+
+        run("Intersection (iterable)", expected,
+                CollectionHelper.intersection(sequence, CollectionHelper.toList(new Integer[]{0})));
+
+        run("Intersection (array)", expected,
+                CollectionHelper.intersection(arr, new Integer[]{0}));
+    }
+
+    private static void run(String name, int expected, IterableResult<?> result) {
+        Stopwatch sw = Stopwatch.startNew();
+        int found = 0;
+        for (Object ignored : result) found++;
+        sw.stop();
+
+        if (found != expected) {
+            throw new IllegalStateException(name + ": expected " + expected + " elements, found " + found + "!");
+        }
+
+        System.out.printf("%s:\n%d ms\n", name, sw.getElapsedInMillis());
+    }
+}
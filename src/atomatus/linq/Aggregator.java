@@ -0,0 +1,256 @@
+package atomatus.linq;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Aggregation function applied on each group while grouping elements,
+ * folding each value into an accumulate of group (values are not kept on group).
+ * On parallel mode partial accumulates of same group are merged by combiner.
+ *
+ * @param <V> element type
+ * @param <A> accumulate type
+ * @param <R> result type
+ * @author Carlos Matos
+ */
+public final class Aggregator<V, A, R> {
+
+    /**
+     * Sum and count accumulate for average.
+     * @param <N> number type
+     */
+    private static final class AverageAcc<N extends Number> {
+        private N sum;
+        private int count;
+    }
+
+    /**
+     * Aggregate results of a group, on same order of aggregators applied on it.
+     */
+    public static final class Results {
+
+        private final Aggregator<?, ?, ?>[] aggregators;
+        private final Object[] values;
+
+        Results(Aggregator<?, ?, ?>[] aggregators, Object[] values) {
+            this.aggregators    = aggregators;
+            this.values         = values;
+        }
+
+        /**
+         * Result of aggregator on group.
+         *
+         * @param aggregator one of aggregators applied on group.
+         * @param <R>        result type
+         * @return aggregate result
+         * @throws IllegalArgumentException when aggregator was not applied on group.
+         */
+        @SuppressWarnings("unchecked")
+        public <R> R get(Aggregator<?, ?, R> aggregator) {
+            for (int i = 0; i < aggregators.length; i++) {
+                if (aggregators[i] == aggregator) {
+                    return (R) values[i];
+                }
+            }
+            throw new IllegalArgumentException("Aggregator was not applied on group!");
+        }
+
+        /**
+         * Result of aggregator at index (same order of aggregators applied on group).
+         *
+         * @param index aggregator index
+         * @return aggregate result
+         */
+        public Object get(int index) {
+            return values[index];
+        }
+
+        /**
+         * Count of aggregate results.
+         *
+         * @return count of aggregators applied on group.
+         */
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Read only list of aggregate results.
+         *
+         * @return aggregate results, on same order of aggregators.
+         */
+        public List<Object> toList() {
+            return Collections.unmodifiableList(Arrays.asList(values));
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+
+    private final CollectionHelper.FunctionGet<A> init;
+    private final CollectionHelper.FunctionReduce<V, A> accumulator;
+    private final CollectionHelper.FunctionReduce<A, A> combiner;
+    private final CollectionHelper.FunctionMount<A, R> finisher;
+
+    private Aggregator(CollectionHelper.FunctionGet<A> init,
+                       CollectionHelper.FunctionReduce<V, A> accumulator,
+                       CollectionHelper.FunctionReduce<A, A> combiner,
+                       CollectionHelper.FunctionMount<A, R> finisher) {
+        this.init           = Objects.requireNonNull(init);
+        this.accumulator    = Objects.requireNonNull(accumulator);
+        this.combiner       = Objects.requireNonNull(combiner);
+        this.finisher       = Objects.requireNonNull(finisher);
+    }
+
+    //region actions
+    A init() {
+        return init.get();
+    }
+
+    A accumulate(A acc, V value) {
+        return accumulator.reduce(acc, value);
+    }
+
+    A combine(A acc0, A acc1) {
+        return combiner.reduce(acc0, acc1);
+    }
+
+    R finish(A acc) {
+        return finisher.mount(acc);
+    }
+    //endregion
+
+    //region factory
+
+    /**
+     * Custom aggregator.
+     *
+     * @param init        function to create a new accumulate for a group.
+     * @param accumulator function to fold a value into accumulate, may return same (mutable) accumulate or a new one.
+     * @param combiner    function to merge two partial accumulates of same group.
+     * @param finisher    function to mount group result from final accumulate.
+     * @param <V>         element type
+     * @param <A>         accumulate type
+     * @param <R>         result type
+     * @return new aggregator
+     */
+    public static <V, A, R> Aggregator<V, A, R> of(CollectionHelper.FunctionGet<A> init,
+                                                   CollectionHelper.FunctionReduce<V, A> accumulator,
+                                                   CollectionHelper.FunctionReduce<A, A> combiner,
+                                                   CollectionHelper.FunctionMount<A, R> finisher) {
+        return new Aggregator<>(init, accumulator, combiner, finisher);
+    }
+
+    /**
+     * Count of values in each group.
+     *
+     * @param <V> element type
+     * @return new aggregator
+     */
+    public static <V> Aggregator<V, ?, Integer> count() {
+        return Aggregator.<V, int[], Integer>of(() -> new int[1],
+                (acc, curr) -> {
+                    acc[0]++;
+                    return acc;
+                },
+                (acc0, acc1) -> {
+                    acc0[0] += acc1[0];
+                    return acc0;
+                },
+                acc -> acc[0]);
+    }
+
+    /**
+     * Summation of number mounted from each value in group.
+     *
+     * @param fun   function to get a target number in element.
+     * @param <V>   element type
+     * @param <N>   number type
+     * @return new aggregator
+     */
+    public static <V, N extends Number> Aggregator<V, ?, N> sum(CollectionHelper.FunctionMount<V, N> fun) {
+        Objects.requireNonNull(fun);
+        return Aggregator.<V, N, N>of(() -> null,
+                (acc, curr) -> IteratorForMath.sum(acc, fun.mount(curr)),
+                IteratorForMath::sum,
+                acc -> acc);
+    }
+
+    /**
+     * Average of number mounted from each value in group.
+     *
+     * @param fun   function to get a target number in element.
+     * @param <V>   element type
+     * @param <N>   number type
+     * @return new aggregator
+     */
+    public static <V, N extends Number> Aggregator<V, ?, N> average(CollectionHelper.FunctionMount<V, N> fun) {
+        Objects.requireNonNull(fun);
+        return Aggregator.<V, AverageAcc<N>, N>of(AverageAcc::new,
+                (acc, curr) -> {
+                    acc.sum = IteratorForMath.sum(acc.sum, fun.mount(curr));
+                    acc.count++;
+                    return acc;
+                },
+                (acc0, acc1) -> {
+                    acc0.sum = IteratorForMath.sum(acc0.sum, acc1.sum);
+                    acc0.count += acc1.count;
+                    return acc0;
+                },
+                acc -> acc.count > 0 ? IteratorForMath.divide(acc.sum, acc.count) : null);
+    }
+
+    /**
+     * Minimum value mounted from each value in group.
+     *
+     * @param fun   function to get Comparable element target
+     * @param <V>   element type
+     * @param <C>   result comparable element
+     * @return new aggregator
+     */
+    public static <V, C extends Comparable<C>> Aggregator<V, ?, C> min(CollectionHelper.FunctionMount<V, C> fun) {
+        Objects.requireNonNull(fun);
+        return Aggregator.<V, C, C>of(() -> null,
+                (acc, curr) -> IteratorForMath.minValid(acc, fun.mount(curr)),
+                IteratorForMath::minValid,
+                acc -> acc);
+    }
+
+    /**
+     * Maximum value mounted from each value in group.
+     *
+     * @param fun   function to get Comparable element target
+     * @param <V>   element type
+     * @param <C>   result comparable element
+     * @return new aggregator
+     */
+    public static <V, C extends Comparable<C>> Aggregator<V, ?, C> max(CollectionHelper.FunctionMount<V, C> fun) {
+        Objects.requireNonNull(fun);
+        return Aggregator.<V, C, C>of(() -> null,
+                (acc, curr) -> IteratorForMath.maxValid(acc, fun.mount(curr)),
+                IteratorForMath::maxValid,
+                acc -> acc);
+    }
+
+    /**
+     * Reduce values of each group from accumulate, partial results are merged by combiner.
+     *
+     * @param reduceFun reduce function
+     * @param combiner  function to merge two partial accumulate results.
+     * @param acc       initial accumulate value of each group (immutable value).
+     * @param <V>       element type
+     * @param <R>       accumulate type
+     * @return new aggregator
+     */
+    public static <V, R> Aggregator<V, R, R> reduce(CollectionHelper.FunctionReduce<V, R> reduceFun,
+                                                    CollectionHelper.FunctionReduce<R, R> combiner,
+                                                    R acc) {
+        Objects.requireNonNull(reduceFun);
+        return of(() -> acc, reduceFun, combiner, r -> r);
+    }
+    //endregion
+}
@@ -19,6 +19,7 @@ public abstract class Analyzer extends IterableResultGroup<String, String> imple
     private Charset charset;
     private char separatorChar;
     private boolean closed;
+    private boolean parallel;
     private final boolean localFile;
     private final boolean requestSeparatorChar;
 
@@ -157,6 +158,42 @@ public abstract class Analyzer extends IterableResultGroup<String, String> imple
     }
     //endregion
 
+    //region parallel
+
+    /**
+     * Load local file on parallel, splitting it on byte ranges aligned on line starts (out of quotes)
+     * parsed at same time, then columns sum, min and max are calculated on parallel too.
+     * Set it before first request, or invalidate analyzer to load file again.
+     * @return current instance of Analyzer.
+     */
+    public final Analyzer parallel() {
+        this.requireNonClosed();
+        this.parallel = true;
+        return this;
+    }
+
+    protected boolean isParallel() {
+        return parallel;
+    }
+    //endregion
+
+    //region typed columns
+
+    /**
+     * Typed values of column. Column type (int, long, decimal, double, date, boolean or string) is inferred
+     * from a sample of column and all values are parsed once to primitive arrays,
+     * then typed reads and sum, average and mean of number columns run without parse values again.
+     * {@link #materialize()} infers all columns at once.
+     * @param key column key.
+     * @return typed column or null when key is not found.
+     */
+    public final AnalyzerTypedColumn getTypedColumn(String key) {
+        IterableResult<String> column = get(key);
+        return column == null ? null : column instanceof AnalyzerTypedColumn.Source ?
+                ((AnalyzerTypedColumn.Source) column).getTypedColumn() : AnalyzerTypedColumn.of(column, column.count());
+    }
+    //endregion
+
     //region Closeable
     protected final void requireNonClosed(){
         if(closed){
@@ -0,0 +1,710 @@
+package atomatus.linq;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Columnar store of analyzer rows, each line is scanned once and its field boundaries
+ * are appended to column vectors (one end offset array for each key), then any cell is read
+ * directly by row index and column, without walking previous fields.
+ * Lines are kept how strings or, for memory mapped files, how file positions decoded only when cell is read.
+ * Rows are appended on demand by read function, while iterating beyond loaded rows,
+ * or memory mapped files are loaded at once on parallel (a chunk of rows for each byte range).
+ * Separators and line breaks inside quoted fields (starting by double quote) are part of field,
+ * quotes are removed when cell is read. Quotes inside unquoted fields are part of value.
+ * Missing fields of a row are read as null and fields beyond key count are ignored.
+ */
+final class AnalyzerColumns {
+
+    private static final int INITIAL_CAPACITY = 1 << 4;
+    private static final int MISSING = -1;
+    private static final int UNBOUNDED = -1;
+    private static final char QUOTE = '"';
+
+    /**
+     * Quote states of a scan: at field start, inside an unquoted field, inside a quoted field
+     * and on second quote of an escaped quote ("") inside a quoted field.
+     */
+    static final int FIELD_START = 0, IN_FIELD = 1, QUOTED = 2, ESCAPED = 3;
+
+    /**
+     * Separator of a scan before separator is known (discovered from first line),
+     * then any of {@link #SEPARATORS} ends a quoted field.
+     */
+    static final int UNKNOWN_SEPARATOR = -1;
+
+    private static final String SEPARATORS = ",;\t|";
+
+    /**
+     * Rows of store, appended in sequence (single chunk) or parsed on parallel for each byte range.
+     */
+    private static final class Chunk {
+
+        private final int width;
+        private String[] lines;
+        private long[] positions;
+        private final int[][] ends;
+        private int first, rows;
+
+        /**
+         * Chunk ended by an empty line, last line of file.
+         */
+        private boolean stopped;
+
+        Chunk(int width, boolean mapped) {
+            this.width      = width;
+            this.lines      = mapped ? null : new String[INITIAL_CAPACITY];
+            this.positions  = mapped ? new long[INITIAL_CAPACITY] : null;
+            this.ends       = new int[width][INITIAL_CAPACITY];
+        }
+
+        private void ensureCapacity() {
+            if (rows == ends[0].length) {
+                int capacity = rows + (rows >> 1);
+                if (lines != null) {
+                    lines = Arrays.copyOf(lines, capacity);
+                } else {
+                    positions = Arrays.copyOf(positions, capacity);
+                }
+                for (int c = 0; c < width; c++) {
+                    ends[c] = Arrays.copyOf(ends[c], capacity);
+                }
+            }
+        }
+
+        private void fillMissing(int c) {
+            while (c < width) {
+                ends[c++][rows] = MISSING;
+            }
+        }
+    }
+
+    /**
+     * Values of column on rows range, reading snapshot of current chunk vectors.
+     * Vectors only grow (by copy) and loaded rows never change,
+     * then rows below snapshot limit are read without lock.
+     */
+    private final class IteratorForColumn implements IteratorForPush.Source<String> {
+
+        private final int col;
+        private final int to;
+        private String[] lines;
+        private long[] positions;
+        private int[] starts, ends;
+        private int index, first, limit;
+
+        /**
+         * @param to end row (exclusive) or {@link #UNBOUNDED} to read rows on demand.
+         */
+        IteratorForColumn(int col, int from, int to) {
+            this.col    = col;
+            this.to     = to;
+            this.index  = from;
+        }
+
+        private boolean load() {
+            synchronized (AnalyzerColumns.this) {
+                if (to == UNBOUNDED ? index == rows && !readFun.get() : index >= to) {
+                    return false;
+                } else if (index >= rows) {
+                    return false;
+                }
+                Chunk chunk = chunkOf(index);
+                lines       = chunk.lines;
+                positions   = chunk.positions;
+                starts      = col == 0 ? null : chunk.ends[col - 1];
+                ends        = chunk.ends[col];
+                first       = chunk.first;
+                limit       = to == UNBOUNDED ? chunk.first + chunk.rows : Math.min(chunk.first + chunk.rows, to);
+                return index < limit;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < limit || load();
+        }
+
+        @Override
+        public String next() {
+            if (hasNext()) {
+                return cell(lines, positions, starts, ends, index++ - first);
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+
+        @Override
+        public boolean forEachWhile(IteratorForPush.Sink<? super String> sink) {
+            while (hasNext()) {
+                while (index < limit) {
+                    if (!sink.push(cell(lines, positions, starts, ends, index++ - first))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Next value how a view, see {@link #cellView(String[], long[], int[], int[], int, CellView)}.
+         */
+        CharSequence nextView(CellView view) {
+            if (hasNext()) {
+                return cellView(lines, positions, starts, ends, index++ - first, view);
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Flyweight view of a cell over line chars or ASCII bytes of a mapped window, reused for each cell
+     * (valid until next cell is read), non creating a String.
+     */
+    static final class CellView implements CharSequence {
+
+        private String line;
+        private ByteBuffer window;
+        private int start, end;
+
+        CellView of(String line, int start, int end) {
+            this.line   = line;
+            this.window = null;
+            this.start  = start;
+            this.end    = end;
+            return this;
+        }
+
+        CellView of(ByteBuffer window, int start, int end) {
+            this.line   = null;
+            this.window = window;
+            this.start  = start;
+            this.end    = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException();
+            }
+            return line != null ? line.charAt(start + index) : (char) window.get(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if (line != null) {
+                return line.substring(start, end);
+            }
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) window.get(start + i);
+            }
+            return new String(chars);
+        }
+    }
+
+    /**
+     * Values of column how views, see {@link IteratorForColumn#nextView(CellView)}.
+     */
+    private final class IteratorForCells implements Iterator<CharSequence> {
+
+        private final IteratorForColumn column;
+        private final CellView view;
+
+        IteratorForCells(int col, int to) {
+            this.column = new IteratorForColumn(col, 0, to);
+            this.view   = new CellView();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return column.hasNext();
+        }
+
+        @Override
+        public CharSequence next() {
+            return column.nextView(view);
+        }
+    }
+
+    /**
+     * Column values, how a range of rows (read on parallel when store is parallel).
+     */
+    private final class IterableResultForColumn extends IterableResultRange<String> implements AnalyzerTypedColumn.Source {
+
+        private final int col;
+
+        IterableResultForColumn(int col) {
+            this.col = col;
+        }
+
+        @Override
+        int length() {
+            return loadAll();
+        }
+
+        @Override
+        Iterator<String> iterator(int from, int to) {
+            return new IteratorForColumn(col, from, to);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new IteratorForColumn(col, 0, UNBOUNDED);
+        }
+
+        @Override
+        public int count() {
+            return loadAll();
+        }
+
+        @Override
+        public AnalyzerTypedColumn getTypedColumn() {
+            return typed(col);
+        }
+    }
+
+    private final class IterableResultForRow extends IterableResult<String> {
+
+        private final int row;
+
+        IterableResultForRow(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                int col;
+
+                @Override
+                public boolean hasNext() {
+                    return col < width;
+                }
+
+                @Override
+                public String next() {
+                    if (hasNext()) {
+                        return get(row, col++);
+                    } else {
+                        throw new NoSuchElementException();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int count() {
+            return width;
+        }
+    }
+
+    private final int width;
+    private final char separatorChar;
+    private final AnalyzerMappedFile file;
+    private final CollectionHelper.FunctionGet<Boolean> readFun;
+    private final boolean parallel;
+    private final AnalyzerTypedColumn[] typed;
+    private Chunk[] chunks;
+    private int chunkCount;
+    private int rows;
+
+    /**
+     * @param width         count of columns (keys)
+     * @param separatorChar field separator, single byte char when file is set.
+     * @param file          memory mapped file of rows or null when rows are pushed how strings.
+     * @param parallel      load memory mapped file on parallel and compute sum, min and max of columns on parallel.
+     * @param readFun       function to read and append next row, false when there is no more rows.
+     */
+    AnalyzerColumns(int width, char separatorChar, AnalyzerMappedFile file, boolean parallel,
+                    CollectionHelper.FunctionGet<Boolean> readFun) {
+        this.width          = width;
+        this.separatorChar  = separatorChar;
+        this.file           = file;
+        this.parallel       = parallel;
+        this.readFun        = Objects.requireNonNull(readFun);
+        this.typed          = new AnalyzerTypedColumn[width];
+        this.chunks         = new Chunk[]{new Chunk(width, file != null)};
+        this.chunkCount     = 1;
+    }
+
+    //region quotes
+
+    private static boolean isSeparator(int c, int separator) {
+        return c == separator || (separator == UNKNOWN_SEPARATOR && c != -1 && SEPARATORS.indexOf(c) >= 0);
+    }
+
+    /**
+     * Check whether char ends a field: separator, line break or end (-1).
+     */
+    private static boolean isFieldEnd(int c, int separator) {
+        return c == -1 || c == '\n' || c == '\r' || isSeparator(c, separator);
+    }
+
+    /**
+     * Next quote state after char c followed by next char (-1 on line end), line breaks out of quotes
+     * are handled by caller. A quote opens a quoted field only at field start and closes it
+     * only when followed by separator or line end, other quotes are part of field.
+     * Inside a quoted field, a quote followed by a quote is an escaped quote.
+     *
+     * @param state     current state
+     * @param c         current char
+     * @param next      next char or -1
+     * @param separator field separator or {@link #UNKNOWN_SEPARATOR}
+     * @return next state
+     */
+    static int nextState(int state, int c, int next, int separator) {
+        if (state == ESCAPED) {
+            return QUOTED;
+        } else if (state == QUOTED) {
+            return c != QUOTE ? QUOTED : next == QUOTE ? ESCAPED : isFieldEnd(next, separator) ? IN_FIELD : QUOTED;
+        }
+        return isSeparator(c, separator) ? FIELD_START : state == FIELD_START && c == QUOTE ? QUOTED : IN_FIELD;
+    }
+
+    /**
+     * Quote state at end of line, when it is {@link #QUOTED} last field continues on next line.
+     *
+     * @param line      line
+     * @param state     state at line start, {@link #FIELD_START} or {@link #QUOTED} for a continued field
+     * @param separator field separator or {@link #UNKNOWN_SEPARATOR}
+     * @return state at line end
+     */
+    static int lineState(CharSequence line, int state, int separator) {
+        for (int i = 0, l = line.length(); i < l; i++) {
+            state = nextState(state, line.charAt(i), i + 1 < l ? line.charAt(i + 1) : -1, separator);
+        }
+        return state;
+    }
+
+    /**
+     * Remove quotes of a quoted field (starting by quote), double quotes inside quotes are an escaped quote.
+     * Quotes of unquoted fields are part of value.
+     *
+     * @param field field value
+     * @return unquoted value
+     */
+    static String unquote(String field) {
+        int l = field.length();
+        if (l == 0 || field.charAt(0) != QUOTE) {
+            return field;
+        }
+
+        int end = l > 1 && field.charAt(l - 1) == QUOTE ? l - 1 : l;
+        StringBuilder sb = new StringBuilder(end);
+        for (int i = 1; i < end; i++) {
+            char c = field.charAt(i);
+            sb.append(c);
+            if (c == QUOTE && i + 1 < end && field.charAt(i + 1) == QUOTE) {
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Unquoted fields of line, separators inside quotes are part of field.
+     *
+     * @param line          line
+     * @param separatorChar field separator
+     * @return fields
+     */
+    static List<String> split(String line, char separatorChar) {
+        String[] fields = new String[1];
+        int count = 0;
+        int state = FIELD_START;
+        for (int i = 0, start = 0, len = line.length(); i <= len; i++) {
+            char c = i == len ? separatorChar : line.charAt(i);
+            if (i == len || (state != QUOTED && c == separatorChar)) {
+                if (count == fields.length) {
+                    fields = Arrays.copyOf(fields, count * 2);
+                }
+                fields[count++] = unquote(line.substring(start, i));
+                start = i + 1;
+            }
+            if (i < len) {
+                state = nextState(state, c, i + 1 < len ? line.charAt(i + 1) : -1, separatorChar);
+            }
+        }
+        return Arrays.asList(fields).subList(0, count);
+    }
+    //endregion
+
+    //region rows
+    private Chunk chunkOf(int row) {
+        int lo = 0, hi = chunkCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (chunks[mid].first <= row) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return chunks[lo];
+    }
+
+    /**
+     * Field of chunk row, from end of previous field (separator) to its end.
+     */
+    private String cell(String[] lines, long[] positions, int[] starts, int[] ends, int row) {
+        int end = ends[row];
+        if (end == MISSING) {
+            return null;
+        }
+        int start = starts == null ? 0 : starts[row] + 1;
+        return unquote(lines != null ? lines[row].substring(start, end) : file.decode(positions[row] + start, end - start));
+    }
+
+    /**
+     * Field of chunk row how a view over line chars or file bytes, non creating a String.
+     * Quoted fields and fields of non ASCII bytes are read how String, see {@link #cell(String[], long[], int[], int[], int)}.
+     */
+    private CharSequence cellView(String[] lines, long[] positions, int[] starts, int[] ends, int row, CellView view) {
+        int end = ends[row];
+        if (end == MISSING) {
+            return null;
+        }
+        int start = starts == null ? 0 : starts[row] + 1;
+        if (lines != null) {
+            view.of(lines[row], start, end);
+        } else if (!file.view(positions[row] + start, end - start, view)) {
+            return cell(lines, positions, starts, ends, row);
+        }
+        return view.length() != 0 && view.charAt(0) == QUOTE ? cell(lines, positions, starts, ends, row) : view;
+    }
+
+    /**
+     * Append row, scanning its field boundaries once.
+     *
+     * @param line row line
+     * @return current instance
+     */
+    synchronized AnalyzerColumns push(String line) {
+        Chunk chunk = chunks[chunkCount - 1];
+        chunk.ensureCapacity();
+        int c = 0;
+        int state = FIELD_START;
+        for (int i = 0, len = line.length(); i <= len && c < width; i++) {
+            if (i == len) {
+                chunk.ends[c++][chunk.rows] = i;
+            } else {
+                char ch = line.charAt(i);
+                if (state != QUOTED && ch == separatorChar) {
+                    chunk.ends[c++][chunk.rows] = i;
+                }
+                state = nextState(state, ch, i + 1 < len ? line.charAt(i + 1) : -1, separatorChar);
+            }
+        }
+        chunk.fillMissing(c);
+        chunk.lines[chunk.rows++] = line;
+        rows++;
+        return this;
+    }
+
+    /**
+     * Append current line of memory mapped file, scanning its field boundaries on bytes.
+     *
+     * @return current instance
+     */
+    synchronized AnalyzerColumns push() {
+        Chunk chunk = chunks[chunkCount - 1];
+        chunk.ensureCapacity();
+        chunk.fillMissing(file.scanFields(separatorChar, chunk.ends, chunk.rows));
+        chunk.positions[chunk.rows++] = file.getLineStart();
+        rows++;
+        return this;
+    }
+
+    synchronized String get(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= width) {
+            throw new IndexOutOfBoundsException();
+        }
+        Chunk chunk = chunkOf(row);
+        return cell(chunk.lines, chunk.positions, col == 0 ? null : chunk.ends[col - 1], chunk.ends[col], row - chunk.first);
+    }
+
+    /**
+     * Read all remaining rows.
+     *
+     * @return count of rows
+     */
+    synchronized int loadAll() {
+        //noinspection StatementWithEmptyBody
+        while (readFun.get());
+        return rows;
+    }
+    //endregion
+
+    //region parallel
+
+    /**
+     * Check whether remaining rows of memory mapped file are loaded on parallel.
+     *
+     * @return true when store is parallel and file is set.
+     */
+    boolean isParallelLoad() {
+        return parallel && file != null;
+    }
+
+    /**
+     * Load all remaining rows of memory mapped file on parallel, file is split on byte ranges
+     * aligned on line starts, each range is parsed on a chunk of rows, then chunks are stitched on file order
+     * (until first empty line).
+     *
+     * @param count max count of byte ranges
+     * @return count of rows
+     */
+    synchronized int loadParallel(int count) {
+        long[] starts = file.splitRanges(count);
+        List<Chunk> parsed = IteratorForParallel.execute(starts.length - 1, i -> parse(starts[i], starts[i + 1]));
+        for (Chunk chunk : parsed) {
+            append(chunk);
+            if (chunk.stopped) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private void append(Chunk chunk) {
+        if (chunk.rows == 0) {
+            return;
+        } else if (chunks[chunkCount - 1].rows == 0) {
+            chunkCount--;
+        } else if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunk.first = rows;
+        chunks[chunkCount++] = chunk;
+        rows += chunk.rows;
+    }
+
+    /**
+     * Parse lines of byte range, range starts on a line start out of quotes.
+     */
+    private Chunk parse(long from, long to) {
+        Chunk chunk = new Chunk(width, true);
+        if (from == to) {
+            return chunk;
+        }
+
+        ByteBuffer window = file.rangeWindow(from);
+        byte separator = (byte) separatorChar;
+        for (int pos = 0, limit = (int) (to - from); pos < limit; ) {
+            int end = AnalyzerMappedFile.lineEnd(window, pos, limit, separatorChar);
+            if (end == pos) {
+                chunk.stopped = true;
+                break;
+            }
+            chunk.ensureCapacity();
+            chunk.fillMissing(AnalyzerMappedFile.scanFields(window, pos, end - pos, separator, chunk.ends, chunk.rows));
+            chunk.positions[chunk.rows++] = from + pos;
+            pos = end + AnalyzerMappedFile.breakLength(window, end, limit);
+        }
+        return chunk;
+    }
+    //endregion
+
+    //region typed
+
+    /**
+     * Typed values of column, inferred and parsed once after all rows are read.
+     *
+     * @param col column index
+     * @return typed column
+     */
+    AnalyzerTypedColumn typed(int col) {
+        AnalyzerTypedColumn t;
+        synchronized (typed) {
+            t = typed[col];
+        }
+        if (t == null) {
+            int count = loadAll();
+            t = AnalyzerTypedColumn.of(() -> new IteratorForCells(col, count), count);
+            synchronized (typed) {
+                if (typed[col] == null) {
+                    typed[col] = t;
+                } else {
+                    t = typed[col];
+                }
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Read all remaining rows and infer typed values of all columns (on parallel when store is parallel).
+     */
+    void typeAll() {
+        loadAll();
+        if (parallel) {
+            IteratorForParallel.execute(width, this::typed);
+        } else {
+            for (int col = 0; col < width; col++) {
+                typed(col);
+            }
+        }
+    }
+    //endregion
+
+    IterableResult<String> column(int col) {
+        if (col < 0 || col >= width) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new IterableResultForColumn(col).parallel(parallel);
+    }
+
+    /**
+     * Rows of store, each row is a view over columns.
+     *
+     * @return iterable result of rows
+     */
+    IterableResult<IterableResult<String>> rows() {
+        return new IterableResult<IterableResult<String>>() {
+            @Override
+            public Iterator<IterableResult<String>> iterator() {
+                return new Iterator<IterableResult<String>>() {
+                    int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        synchronized (AnalyzerColumns.this) {
+                            return index < rows || (readFun.get() && index < rows);
+                        }
+                    }
+
+                    @Override
+                    public IterableResult<String> next() {
+                        if (hasNext()) {
+                            return new IterableResultForRow(index++);
+                        } else {
+                            throw new NoSuchElementException();
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public int count() {
+                return loadAll();
+            }
+        };
+    }
+}
@@ -4,6 +4,7 @@ import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Base for dataframe files within separator character.
@@ -14,45 +15,13 @@ abstract class AnalyzerForSepChar extends Analyzer {
 
         private class AnalyzerEntry implements Map.Entry<String, IterableResult<String>> {
 
-            private class IteratorForColValues implements Iterator<String> {
-
-                final Iterator<IterableResult<String>> rows;
-
-                {
-                    rows = values.iterator();
-                }
-
-                @Override
-                public boolean hasNext() {
-                    return rows.hasNext();
-                }
-                @Override
-                public String next() {
-                    IterableResult<String> row = rows.next();
-                    return (keyIndex == 0 ? row.take(1) : row.jump(keyIndex).take(1)).iterator().next();
-                }
-            }
-
-            private class IterableResultForColValues extends IterableResult<String> {
-                @Override
-                public Iterator<String> iterator() {
-                    return new IteratorForColValues();
-                }
-            }
-
             private final int keyIndex;
             private final String key;
-            private final Iterable<IterableResult<String>> values;
             private transient IterableResult<String> colValues;
 
-            public AnalyzerEntry(int keyIndex, String key, Iterable<IterableResult<String>> values) {
+            public AnalyzerEntry(int keyIndex, String key) {
                 this.keyIndex   = keyIndex;
                 this.key        = Objects.requireNonNull(key);
-                this.values     = Objects.requireNonNull(values);
-            }
-
-            public AnalyzerEntry(int keyIndex, IterableResult<String> keys, Iterable<IterableResult<String>> values) {
-                this(keyIndex, (keyIndex == 0 ? keys.take(1) : keys.jump(keyIndex).take(1)).iterator().next(), values);
             }
 
             @Override
@@ -62,7 +31,7 @@ abstract class AnalyzerForSepChar extends Analyzer {
 
             @Override
             public IterableResult<String> getValue() {
-                return colValues == null ? (colValues = new IterableResultForColValues()) : colValues;
+                return colValues == null ? (colValues = values.column(keyIndex)) : colValues;
             }
 
             @Override
@@ -72,52 +41,7 @@ abstract class AnalyzerForSepChar extends Analyzer {
 
             @Override
             public String toString() {
-                return key + "=" + IteratorForJoin.toString(values);
-            }
-        }
-
-        private class IterableResultMerged extends IterableResult<IterableResult<String>> {
-
-            final List<IterableResult<String>> merged;
-            int count;
-
-            public IterableResultMerged(){
-                this.merged = new ArrayList<>();
-            }
-
-            public IterableResultMerged push(IterableResult<String> other) {
-                synchronized (merged) {
-                    merged.add(other);
-                    count++;
-                    return this;
-                }
-            }
-
-            @Override
-            public Iterator<IterableResult<String>> iterator() {
-                synchronized (merged) {
-                    return new Iterator<IterableResult<String>>() {
-                        int index;
-
-                        @Override
-                        public boolean hasNext() {
-                            synchronized (merged) {
-                                return index < count || nextLine(false, true);
-                            }
-                        }
-
-                        @Override
-                        public IterableResult<String> next() {
-                            synchronized (merged) {
-                                if (index < count) {
-                                    return merged.get(index++);
-                                } else {
-                                    throw new NoSuchElementException();
-                                }
-                            }
-                        }
-                    };
-                }
+                return key + "=" + IteratorForJoin.toString(getValue());
             }
         }
 
@@ -158,18 +82,20 @@ abstract class AnalyzerForSepChar extends Analyzer {
         }
 
         private BufferedReader reader;
-        private boolean isOpen, isClosed;
+        private AnalyzerMappedFile mapped;
+        private boolean isOpen, isClosed, hasMappedLine, isMappedColumns;
         private int lineIndex, count, keyIndex, keyCount;
         private String nextLine;
         private IterableResult<String> keys;
-        private IterableResultMerged values;
-        private final IteratorForGroupCalculator<String, String> calculator;
+        private List<String> keyList;
+        private AnalyzerColumns values;
+        private final AnalyzerGroupCalculator calculator;
         private final Object lock;
 
         {
             count = -1;
             lock  = new Object();
-            calculator = new IteratorForGroupCalculator<>(this::getOneShotIterableResetable);
+            calculator = new AnalyzerGroupCalculator(this::getOneShotIterableResetable);
         }
 
         private void checkInit(boolean isThrowsException) {
@@ -177,12 +103,24 @@ abstract class AnalyzerForSepChar extends Analyzer {
                 if(isThrowsException) {
                     throw new UnsupportedOperationException("Iterator for Analyser is closed!");
                 }
-            } else if(reader == null) {
-                reader = initReaderFromFilename();
+            } else if(reader == null && mapped == null) {
+                if(isMappedFile()) {
+                    mapped = new AnalyzerMappedFile(getFilename(), getCharset(), getScanSeparator());
+                } else {
+                    reader = initReaderFromFilename();
+                }
                 isOpen = true;
             }
         }
 
+        /**
+         * Local files are read by memory mapped windows, scanning lines and fields on bytes,
+         * when charset allows it.
+         */
+        private boolean isMappedFile() {
+            return isLocalFile() && AnalyzerMappedFile.isSupported(getCharset());
+        }
+
         private BufferedReader initReaderFromFilename() {
             return isLocalFile() ? initReaderForLocal() : initReaderForUrl();
         }
@@ -211,31 +149,73 @@ abstract class AnalyzerForSepChar extends Analyzer {
             if(!isClosed) {
                 try {
                     if(isOpen) {
-                        reader.close();
+                        if(mapped != null) {
+                            mapped.close();
+                        } else {
+                            reader.close();
+                        }
                     }
                 } catch (IOException ignored) {
                 } finally {
                     isOpen = false;
                     isClosed = true;
+                    hasMappedLine = false;
+                    nextLine = null;
                     lineIndex = -1;
                     reader = null;
+                    mapped = null;
                 }
             }
         }
 
-        private void checkDiscoverySeparatorChar(){
+        private void checkDiscoverySeparatorChar(String line){
             if(lineIndex == 0 && isRequestSeparatorChar() && hasNotSeparatorChar()) {
-                setSeparatorChar(getIdentifySeparatorCharByLine(nextLine));
+                setSeparatorChar(getIdentifySeparatorCharByLine(line));
             }
         }
 
+        /**
+         * Separator to find quoted fields end, unknown while it is not discovered from first line.
+         */
+        private int getScanSeparator() {
+            return hasNotSeparatorChar() ? AnalyzerColumns.UNKNOWN_SEPARATOR : getSeparatorChar();
+        }
+
+        /**
+         * Append next lines while line ends inside a quoted field, line breaks inside quoted fields are part of field.
+         */
+        private String readQuotedLine(BufferedReader reader, String line) throws IOException {
+            int separator = getScanSeparator();
+            if (line == null || AnalyzerColumns.lineState(line, AnalyzerColumns.FIELD_START, separator) != AnalyzerColumns.QUOTED) {
+                return line;
+            }
+
+            StringBuilder sb = new StringBuilder(line);
+            int state = AnalyzerColumns.QUOTED;
+            String next;
+            while (state == AnalyzerColumns.QUOTED && (next = reader.readLine()) != null) {
+                sb.append('\n').append(next);
+                state = AnalyzerColumns.lineState(next, AnalyzerColumns.QUOTED, separator);
+            }
+            return sb.toString();
+        }
+
+        private String pollLine() {
+            String aux = hasMappedLine ? mapped.getLine() : nextLine;
+            hasMappedLine = false;
+            nextLine = null;
+            return aux;
+        }
+
         private boolean nextLine(boolean isThrowsExceptionOnCheckInit, boolean isMountLine) {
             checkInit(isThrowsExceptionOnCheckInit);
-            boolean ready = nextLine != null;
+            boolean ready = nextLine != null || hasMappedLine;
             if(!ready) {
                 try {
-                    if (isOpen) {
-                        nextLine = reader.readLine();
+                    if (isOpen && mapped != null) {
+                        ready = hasMappedLine = mapped.readLine() && mapped.getLineLength() != 0;
+                    } else if (isOpen) {
+                        nextLine = readQuotedLine(reader, reader.readLine());
                         ready = nextLine != null && nextLine.length() != 0;
                     }
                 } catch (IOException ignored) { } finally {
@@ -246,16 +226,29 @@ abstract class AnalyzerForSepChar extends Analyzer {
             }
 
             if(ready && isMountLine){
-                checkDiscoverySeparatorChar();
-                String aux = nextLine;
-                nextLine = null;
-                IterableResult<String> entries = mountEntries(lineIndex++, aux);
                 if (keys == null) {
-                    keys = entries;
-                    keyCount = keys.count();
-                    return nextLine(isThrowsExceptionOnCheckInit, true);
+                    String aux = pollLine();
+                    checkDiscoverySeparatorChar(aux);
+                    if (mapped != null && !hasNotSeparatorChar()) {
+                        mapped.setSeparator(getSeparatorChar());
+                    }
+                    keys = mountEntries(lineIndex++, aux);
+                    keyList = keys.toList();
+                    keyCount = keyList.size();
+                    char separatorChar = getSeparatorChar();
+                    isMappedColumns = mapped != null && separatorChar < 0x80;
+                    values = new AnalyzerColumns(keyCount, separatorChar,
+                            isMappedColumns ? mapped : null, isParallel(), () -> nextLine(false, true));
+                    return values.isParallelLoad() ?
+                            values.loadParallel(ForkJoinPool.getCommonPoolParallelism() << 2) > 0 :
+                            nextLine(isThrowsExceptionOnCheckInit, true);
+                } else if (hasMappedLine && isMappedColumns) {
+                    lineIndex++;
+                    hasMappedLine = false;
+                    values.push();
                 } else {
-                    values = values == null ? new IterableResultMerged().push(entries) : values.push(entries);
+                    lineIndex++;
+                    values.push(pollLine());
                 }
             }
 
@@ -286,7 +279,8 @@ abstract class AnalyzerForSepChar extends Analyzer {
 
         private Map.Entry<String, IterableResult<String>> nextLocal() {
             if (checkNextEntry(true)) {
-                return new AnalyzerEntry(keyIndex++, keys, values);
+                int index = keyIndex++;
+                return new AnalyzerEntry(index, keyList.get(index));
             } else {
                 throw new NoSuchElementException();
             }
@@ -333,7 +327,7 @@ abstract class AnalyzerForSepChar extends Analyzer {
         public IterableResult<IterableResult<String>> values() {
             synchronized (lock) {
                 if (values != null || nextLine(true, true)) {
-                    return values;
+                    return values.rows();
                 } else {
                     throw new UnsupportedOperationException("File is empty!");
                 }
@@ -347,10 +341,18 @@ abstract class AnalyzerForSepChar extends Analyzer {
                     return count;
                 } else if(!nextLine(true, false)) {
                     return count = lineIndex;
+                } else if(isMappedFile()) {
+                    try (AnalyzerMappedFile file = new AnalyzerMappedFile(getFilename(), getCharset(), getScanSeparator())) {
+                        return count = file.countLines();
+                    }
                 } else {
                     int lines = 0;
                     try (BufferedReader reader = initReaderFromFilename()) {
-                        while (reader.readLine() != null) lines++;
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            readQuotedLine(reader, line);
+                            lines++;
+                        }
                     } catch (IOException ignored) { }
                     return count = lines;
                 }
@@ -385,10 +387,15 @@ abstract class AnalyzerForSepChar extends Analyzer {
         @Override
         public IterableResult<String> get(String key){
             synchronized (lock){
-                for (Map.Entry<String, IterableResult<String>> entry : getOneShotIterableNotLockedResetable()) {
-                    String k = entry.getKey();
-                    if ((k == null && key == null) || (k != null && k.equalsIgnoreCase(key))) {
-                        return entry.getValue();
+                if (keys == null) {
+                    nextLine(false, true);
+                }
+                if (keys != null) {
+                    for (int i = 0; i < keyCount; i++) {
+                        String k = keyList.get(i);
+                        if ((k == null && key == null) || (k != null && k.equalsIgnoreCase(key))) {
+                            return values.column(i);
+                        }
                     }
                 }
             }
@@ -553,9 +560,30 @@ abstract class AnalyzerForSepChar extends Analyzer {
             return calculator.amount(count);
         }
 
+        @Override
+        public void materialize() {
+            synchronized (lock) {
+                if (values != null || nextLine(false, true)) {
+                    values.typeAll();
+                }
+            }
+        }
+
+        @Override
+        public void invalidate() {
+            synchronized (lock) {
+                close();
+                isClosed = false;
+                lineIndex = 0;
+                keyIndex = 0;
+                count = -1;
+            }
+        }
+
         public void close() {
             closeReader();
             keys = null;
+            keyList = null;
             values = null;
         }
     }
@@ -603,7 +631,9 @@ abstract class AnalyzerForSepChar extends Analyzer {
         if(hasNotSeparatorChar()) {
             throw new UnsupportedOperationException("Can not mount line entries by default method without a separator!");
         }
-        return new IterableResultSplit(line, getSeparatorChar());
+        char separatorChar = getSeparatorChar();
+        return line.indexOf('"') < 0 ? new IterableResultSplit(line, separatorChar) :
+                IterableResultFactory.getInstanceForSelectList(AnalyzerColumns.split(line, separatorChar), e -> e);
     }
     //endregion
 
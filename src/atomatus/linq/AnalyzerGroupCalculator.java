@@ -0,0 +1,139 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Group calculator of analyzer columns, sum, average and mean of a number class are computed
+ * on typed columns (primitive arrays) when column type is a number of result class,
+ * otherwise parsing cells where empty cells are skipped how on typed columns.
+ * Others calculations are same of {@link IteratorForGroupCalculator}.
+ */
+final class AnalyzerGroupCalculator implements IterableResultGroup.IteratorGroupCalculator<String, String> {
+
+    private final CollectionHelper.FunctionGet<Iterable<Map.Entry<String, IterableResult<String>>>> getMapEntries;
+    private final IteratorForGroupCalculator<String, String> calculator;
+
+    AnalyzerGroupCalculator(CollectionHelper.FunctionGet<Iterable<Map.Entry<String, IterableResult<String>>>> getMapEntries) {
+        this.getMapEntries  = Objects.requireNonNull(getMapEntries);
+        this.calculator     = new IteratorForGroupCalculator<>(getMapEntries);
+    }
+
+    private <N> IterableResultMap<String, N> calc(CollectionHelper.FunctionMount<IterableResult<String>, N> calcFun) {
+        return new IterableResultMap<String, N>() {
+            @Override
+            protected IterableResultMap.IteratorMap<String, N> initIterator() {
+                return IteratorForMap.getInstanceForLazyReadOnlyMap(getMapEntries.get(),
+                        e -> new IteratorForGroup.EntryMapForMount<>(e, calcFun));
+            }
+        };
+    }
+
+    //region cells
+
+    /**
+     * Typed column of values, when values are a column of numbers computed how result class.
+     */
+    private static AnalyzerTypedColumn typedOf(IterableResult<String> list, Class<? extends Number> resultClass) {
+        if (list instanceof AnalyzerTypedColumn.Source) {
+            AnalyzerTypedColumn typed = ((AnalyzerTypedColumn.Source) list).getTypedColumn();
+            return typed.isNumberOf(resultClass) ? typed : null;
+        }
+        return null;
+    }
+
+    private static boolean isEmptyCell(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static Iterator<String> nonEmpty(IterableResult<String> list) {
+        return list.filter(v -> !isEmptyCell(v)).iterator();
+    }
+    //endregion
+
+    @Override
+    public IterableResultMap<String, Integer> size() {
+        return calculator.size();
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> sum(Class<N> resultClass) {
+        Objects.requireNonNull(resultClass);
+        CollectionHelper.FunctionMount<String, N> parseFun = i ->
+                IteratorForMath.parseNumber(isEmptyCell(i) ? 0 : i, resultClass);
+        return calc(list -> {
+            AnalyzerTypedColumn typed = typedOf(list, resultClass);
+            return typed != null ? typed.sum(resultClass) : list.sum(parseFun);
+        });
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> sum(CollectionHelper.FunctionMount<String, N> mountFun) {
+        return calculator.sum(mountFun);
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> average(Class<N> resultClass) {
+        Objects.requireNonNull(resultClass);
+        CollectionHelper.FunctionMount<String, N> parseFun = i -> IteratorForMath.parseNumber(i, resultClass);
+        return calc(list -> {
+            AnalyzerTypedColumn typed = typedOf(list, resultClass);
+            return typed != null ? typed.average(resultClass) : IteratorForMath.average(nonEmpty(list), parseFun);
+        });
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> average(CollectionHelper.FunctionMount<String, N> mountFun) {
+        return calculator.average(mountFun);
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> mean(Class<N> resultClass) {
+        Objects.requireNonNull(resultClass);
+        CollectionHelper.FunctionMount<String, N> parseFun = i -> IteratorForMath.parseNumber(i, resultClass);
+        return calc(list -> {
+            AnalyzerTypedColumn typed = typedOf(list, resultClass);
+            if (typed != null) {
+                return typed.mean(resultClass);
+            }
+            Iterator<String> values = nonEmpty(list);
+            return values.hasNext() ? IteratorForMath.mean(values, parseFun) : null;
+        });
+    }
+
+    @Override
+    public <N extends Number> IterableResultMap<String, N> mean(CollectionHelper.FunctionMount<String, N> mountFun) {
+        return calculator.mean(mountFun);
+    }
+
+    @Override
+    public IterableResultMap<String, String> min() {
+        return calculator.min();
+    }
+
+    @Override
+    public <C extends Comparable<C>> IterableResultMap<String, String> min(CollectionHelper.FunctionMount<String, C> mountFun) {
+        return calculator.min(mountFun);
+    }
+
+    @Override
+    public IterableResultMap<String, String> max() {
+        return calculator.max();
+    }
+
+    @Override
+    public <C extends Comparable<C>> IterableResultMap<String, String> max(CollectionHelper.FunctionMount<String, C> mountFun) {
+        return calculator.max(mountFun);
+    }
+
+    @Override
+    public IterableResultGroup<String, String> sample(CollectionHelper.CompareEntryValid<String> checkFun) {
+        return calculator.sample(checkFun);
+    }
+
+    @Override
+    public IterableResultGroup<String, String> amount(int count) {
+        return calculator.amount(count);
+    }
+}
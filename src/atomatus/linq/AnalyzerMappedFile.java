@@ -0,0 +1,449 @@
+package atomatus.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Local file read by memory mapped windows, lines and field separators are found on bytes
+ * and only requested fields are decoded. Each line is fully inside a window, when a line crosses
+ * window end next window is mapped from line start. Windows keep valid after file is closed,
+ * then loaded lines are decoded while file is read or after it.
+ * Line breaks and separators inside quoted fields (between double quotes) do not split lines and fields,
+ * quotes are found by {@link AnalyzerColumns#nextState(int, int, int, int)}.
+ * Requires a charset whose line breaks, quotes and separators are single ASCII bytes, see {@link #isSupported(Charset)}.
+ */
+final class AnalyzerMappedFile implements Closeable {
+
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    /**
+     * Max length of each byte range read on parallel.
+     */
+    private static final long MAX_RANGE_SIZE = 1L << 30;
+
+    /**
+     * Min length of each byte range read on parallel.
+     */
+    private static final long MIN_RANGE_SIZE = 1L << 20;
+
+    /**
+     * Mapped windows ordered by base, replaced (never changed) when a window is mapped,
+     * then windows of loaded lines are read without lock.
+     */
+    private static final class Windows {
+        private final ByteBuffer[] buffers;
+        private final long[] bases;
+        private final int count;
+
+        Windows(ByteBuffer[] buffers, long[] bases, int count) {
+            this.buffers    = buffers;
+            this.bases      = bases;
+            this.count      = count;
+        }
+
+        int indexOf(long position) {
+            int index = Arrays.binarySearch(bases, 0, count, position);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    /**
+     * Byte range summary (read on parallel) to align ranges on line starts:
+     * for each quote state at range start, state at range end and first line start.
+     */
+    private static final class RangeQuotes {
+        private final int[] states;
+        private final long[] lineStarts;
+
+        RangeQuotes() {
+            this.states     = new int[]{ AnalyzerColumns.FIELD_START, AnalyzerColumns.IN_FIELD,
+                    AnalyzerColumns.QUOTED, AnalyzerColumns.ESCAPED };
+            this.lineStarts = new long[]{ -1, -1, -1, -1 };
+        }
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final Charset charset;
+    private volatile Windows windows;
+    private int separator;
+
+    /**
+     * Next line position, current line start and length (without line break).
+     */
+    private long position, lineStart;
+    private int lineLength;
+
+    /**
+     * @param filename  local file
+     * @param charset   file charset
+     * @param separator field separator or {@link AnalyzerColumns#UNKNOWN_SEPARATOR} when it is not discovered yet
+     */
+    AnalyzerMappedFile(String filename, Charset charset, int separator) {
+        try {
+            this.channel = new RandomAccessFile(new File(filename), "r").getChannel();
+            this.size    = channel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.charset    = charset;
+        this.separator  = separator;
+        this.windows    = new Windows(new ByteBuffer[0], new long[0], 0);
+    }
+
+    /**
+     * Set separator discovered from first line, used to find quoted fields end on next lines.
+     */
+    void setSeparator(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Check whether charset encodes line breaks, quotes and separators how single ASCII bytes
+     * and never uses ASCII bytes inside a multi byte char.
+     *
+     * @param charset file charset
+     * @return true when file can be read by bytes.
+     */
+    static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) ||
+                StandardCharsets.US_ASCII.equals(charset) ||
+                StandardCharsets.ISO_8859_1.equals(charset) ||
+                (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1f &&
+                        Arrays.equals("\r\n\",;\t|".getBytes(charset), "\r\n\",;\t|".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    //region windows
+    private MappedByteBuffer mapOnly(long base, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Map window from base, replacing last window when it has same base (larger window of a long line).
+     */
+    private synchronized ByteBuffer map(long base, long length) {
+        Windows w = windows;
+        int count = w.count > 0 && w.bases[w.count - 1] == base ? w.count - 1 : w.count;
+        ByteBuffer[] buffers = Arrays.copyOf(w.buffers, count + 1);
+        long[] bases = Arrays.copyOf(w.bases, count + 1);
+        buffers[count] = mapOnly(base, length);
+        bases[count] = base;
+        windows = new Windows(buffers, bases, count + 1);
+        return buffers[count];
+    }
+    //endregion
+
+    //region scan
+
+    /**
+     * Byte at index how unsigned value, or -1 (line end) when index is on limit.
+     */
+    private static int at(ByteBuffer window, int index, int limit) {
+        return index < limit ? window.get(index) & 0xFF : -1;
+    }
+
+    /**
+     * End of line (index of line break) starting at start, line breaks inside quoted fields are part of line.
+     *
+     * @param separator field separator or {@link AnalyzerColumns#UNKNOWN_SEPARATOR}
+     * @return index of line break or limit when there is none.
+     */
+    static int lineEnd(ByteBuffer window, int start, int limit, int separator) {
+        int state = AnalyzerColumns.FIELD_START;
+        for (int i = start; i < limit; i++) {
+            int b = window.get(i) & 0xFF;
+            if (state != AnalyzerColumns.QUOTED && (b == '\n' || b == '\r')) {
+                return i;
+            }
+            state = AnalyzerColumns.nextState(state, b, at(window, i + 1, limit), separator);
+        }
+        return limit;
+    }
+
+    /**
+     * Length of line break at index, two for CR LF.
+     */
+    static int breakLength(ByteBuffer window, int index, int limit) {
+        return index >= limit ? 0 : (window.get(index) == '\r' && index + 1 < limit && window.get(index + 1) == '\n') ? 2 : 1;
+    }
+
+    /**
+     * Scan fields of line, setting end (relative to line start) of each field,
+     * separators inside quoted fields are part of field.
+     *
+     * @param separator field separator, single byte char.
+     * @param ends      end vectors of each column
+     * @param row       row index on vectors
+     * @return count of found fields (up to width)
+     */
+    static int scanFields(ByteBuffer window, int start, int length, byte separator, int[][] ends, int row) {
+        int width = ends.length;
+        int sep = separator & 0xFF;
+        int c = 0;
+        int state = AnalyzerColumns.FIELD_START;
+        for (int i = 0; i <= length && c < width; i++) {
+            if (i == length) {
+                ends[c++][row] = i;
+            } else {
+                int b = window.get(start + i) & 0xFF;
+                if (state != AnalyzerColumns.QUOTED && b == sep) {
+                    ends[c++][row] = i;
+                }
+                state = AnalyzerColumns.nextState(state, b, at(window, start + i + 1, start + length), sep);
+            }
+        }
+        return c;
+    }
+    //endregion
+
+    //region lines
+
+    /**
+     * Read next line, mapping next window when line crosses current window end.
+     *
+     * @return false when file ends.
+     */
+    boolean readLine() {
+        if (position >= size) {
+            return false;
+        }
+
+        long windowLength = WINDOW_SIZE;
+        for (;;) {
+            Windows w = windows;
+            int index = w.count - 1;
+            long base = index == -1 ? -1 : w.bases[index];
+            ByteBuffer window = index == -1 ? null : w.buffers[index];
+            if (window == null || position >= base + window.limit()) {
+                window = map(base = position, Math.min(size - position, windowLength));
+            }
+
+            int limit = window.limit();
+            boolean isLastWindow = base + limit == size;
+            int start = (int) (position - base);
+            int end = lineEnd(window, start, limit, separator);
+
+            if (end < limit - 1 || isLastWindow || (end == limit - 1 && window.get(end) == '\n')) {
+                lineStart   = position;
+                lineLength  = end - start;
+                position   += lineLength + breakLength(window, end, limit);
+                return true;
+            } else if (start == 0) {
+                if (windowLength == Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Line is larger than mapped window!");
+                }
+                windowLength = Math.min(windowLength * 2, Integer.MAX_VALUE);
+            }
+            map(position, Math.min(size - position, windowLength));
+        }
+    }
+
+    long getLineStart() {
+        return lineStart;
+    }
+
+    int getLineLength() {
+        return lineLength;
+    }
+
+    String getLine() {
+        return decode(lineStart, lineLength);
+    }
+
+    /**
+     * Scan fields of current line.
+     *
+     * @see #scanFields(ByteBuffer, int, int, byte, int[][], int)
+     */
+    int scanFields(char separatorChar, int[][] ends, int row) {
+        Windows w = windows;
+        ByteBuffer window = w.buffers[w.count - 1];
+        return scanFields(window, (int) (lineStart - w.bases[w.count - 1]), lineLength, (byte) separatorChar, ends, row);
+    }
+
+    /**
+     * Count of lines, reading bytes without decode them. Line breaks inside quoted fields are part of line,
+     * then it is same count of lines read by {@link #readLine()}.
+     *
+     * @return count of lines
+     */
+    int countLines() {
+        int count = 0;
+        long base = 0;
+        int state = AnalyzerColumns.FIELD_START;
+        boolean open = false, cr = false;
+        while (base < size) {
+            int length = (int) Math.min(size - base, WINDOW_SIZE);
+            ByteBuffer window = mapOnly(base, Math.min(size - base, WINDOW_SIZE + 1L));
+            for (int i = 0, l = window.limit(); i < length; i++) {
+                int b = window.get(i) & 0xFF;
+                if (state == AnalyzerColumns.QUOTED || (b != '\n' && b != '\r')) {
+                    state = AnalyzerColumns.nextState(state, b, at(window, i + 1, l), separator);
+                    open = true;
+                    cr = false;
+                } else {
+                    if (b == '\r' || !cr) {
+                        count++;
+                    }
+                    state = AnalyzerColumns.FIELD_START;
+                    open = false;
+                    cr = b == '\r';
+                }
+            }
+            base += length;
+        }
+        return open ? count + 1 : count;
+    }
+    //endregion
+
+    //region ranges
+
+    /**
+     * Split remaining lines of file on byte ranges to be read on parallel, each range starts on a line start.
+     * Quote states of each range are scanned on parallel (for each state at range start), then ranges start
+     * after first line break out of quotes (by end state of previous ranges). Each range is mapped on its own window
+     * and remaining lines are set as read.
+     *
+     * @param count max count of ranges
+     * @return line start of each range and file size (last range end)
+     */
+    long[] splitRanges(int count) {
+        long from = position;
+        long length = size - from;
+        int n = (int) Math.max(1, Math.min(Math.max(count, (length + MAX_RANGE_SIZE - 1) / MAX_RANGE_SIZE),
+                (length + MIN_RANGE_SIZE - 1) / MIN_RANGE_SIZE));
+        long step = (length + n - 1) / Math.max(1, n);
+
+        List<RangeQuotes> quotes = IteratorForParallel.execute(n, i -> {
+            long start = from + i * step;
+            long end = Math.min(size, start + step);
+            return start >= end ? new RangeQuotes() : countQuotes(start, end);
+        });
+
+        long[] starts = new long[n + 1];
+        starts[n] = size;
+        int state = AnalyzerColumns.FIELD_START;
+        for (int i = 0; i < n; i++) {
+            RangeQuotes q = quotes.get(i);
+            starts[i] = i == 0 ? from : q.lineStarts[state];
+            state = q.states[state];
+        }
+        for (int i = n - 1; i > 0; i--) {
+            if (starts[i] == -1 || starts[i] > starts[i + 1]) {
+                starts[i] = starts[i + 1];
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            long rangeLength = starts[i + 1] - starts[i];
+            if (rangeLength > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Line is larger than mapped window!");
+            } else if (rangeLength > 0) {
+                map(starts[i], rangeLength);
+            }
+        }
+        position = size;
+        return starts;
+    }
+
+    /**
+     * Scan quote states of range from each state at range start, finding state at range end and
+     * first line start out of quotes. Range is mapped with next byte to check quotes and CR LF line breaks on range end.
+     */
+    private RangeQuotes countQuotes(long start, long end) {
+        ByteBuffer window = mapOnly(start, Math.min(size, end + 1) - start);
+        int limit = (int) (end - start);
+        RangeQuotes q = new RangeQuotes();
+        int[] states = q.states;
+        for (int i = 0; i < limit; i++) {
+            int b = window.get(i) & 0xFF;
+            int next = at(window, i + 1, window.limit());
+            boolean isBreak = b == '\n' || b == '\r';
+            for (int s = 0; s < states.length; s++) {
+                if (states[s] == AnalyzerColumns.QUOTED || !isBreak) {
+                    states[s] = AnalyzerColumns.nextState(states[s], b, next, separator);
+                } else {
+                    if (q.lineStarts[s] == -1) {
+                        q.lineStarts[s] = start + i + breakLength(window, i, window.limit());
+                    }
+                    states[s] = AnalyzerColumns.FIELD_START;
+                }
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Window mapped from range start.
+     *
+     * @param start range start
+     * @return window
+     */
+    ByteBuffer rangeWindow(long start) {
+        Windows w = windows;
+        return w.buffers[w.indexOf(start)];
+    }
+    //endregion
+
+    /**
+     * Decode bytes of a loaded line.
+     *
+     * @param position file position, inside a loaded line
+     * @param length   count of bytes
+     * @return decoded value
+     */
+    String decode(long position, int length) {
+        Windows w = windows;
+        int index = w.indexOf(position);
+        ByteBuffer buffer = w.buffers[index].duplicate();
+        buffer.position((int) (position - w.bases[index]));
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Set view over bytes of a loaded line, non decoding them.
+     *
+     * @param position file position, inside a loaded line
+     * @param length   count of bytes
+     * @param view     target view
+     * @return false when a byte is not ASCII, then bytes must be decoded.
+     */
+    boolean view(long position, int length, AnalyzerColumns.CellView view) {
+        Windows w = windows;
+        int index = w.indexOf(position);
+        ByteBuffer buffer = w.buffers[index];
+        int start = (int) (position - w.bases[index]);
+        for (int i = start, end = start + length; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        view.of(buffer, start, start + length);
+        return true;
+    }
+
+    /**
+     * Close file channel, mapped windows keep valid to decode loaded lines.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) { }
+    }
+}
@@ -0,0 +1,734 @@
+package atomatus.linq;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * Typed values of an {@link Analyzer} column. Column type is inferred from a sample of first values,
+ * then all values are parsed once to a primitive array (null or empty values are marked on a null bitmap),
+ * when a value out of sample does not fit inferred type column is parsed again how a wider type.
+ * Typed reads, primitive iterable results and sum, average and mean of number columns
+ * run on arrays, without parse or box values again.
+ *
+ * @author Carlos Matos
+ */
+public final class AnalyzerTypedColumn {
+
+    /**
+     * Column value types, numbers from narrowest (int) to widest (double).
+     */
+    public enum Type {
+        /**
+         * Integer numbers on int range, read how int.
+         */
+        INT,
+        /**
+         * Integer numbers on long range, read how long.
+         */
+        LONG,
+        /**
+         * Plain decimal numbers (without exponent) up to 18 digits, read how BigDecimal (exact) or double.
+         */
+        DECIMAL,
+        /**
+         * Any other numbers, read how double.
+         */
+        DOUBLE,
+        /**
+         * ISO local dates (yyyy-MM-dd), read how LocalDate.
+         */
+        DATE,
+        /**
+         * true or false (ignoring case), read how boolean.
+         */
+        BOOLEAN,
+        /**
+         * Any other values, read from column how String.
+         */
+        STRING;
+
+        private boolean isNumber() {
+            return ordinal() <= DOUBLE.ordinal();
+        }
+
+        private static Type merge(Type t0, Type t1) {
+            return t0 == null ? t1 : t1 == null || t0 == t1 ? t0 :
+                    t0.isNumber() && t1.isNumber() ? (t0.ordinal() > t1.ordinal() ? t0 : t1) : STRING;
+        }
+    }
+
+    /**
+     * Column values, able to recover its typed column.
+     */
+    interface Source {
+        AnalyzerTypedColumn getTypedColumn();
+    }
+
+    /**
+     * Plain decimal number parsed from value.
+     */
+    private static final class Decimal {
+        private long unscaled;
+        private int scale;
+        private boolean point;
+
+        /**
+         * Parse [sign]digits[.digits] up to 18 digits.
+         *
+         * @return false when value is not a plain decimal or has more digits.
+         */
+        boolean parse(CharSequence s) {
+            int len = s.length(), i = 0;
+            char c = s.charAt(0);
+            boolean negative = c == '-';
+            if ((negative || c == '+') && ++i == len) {
+                return false;
+            }
+
+            long v = 0;
+            int digits = 0, scale = -1;
+            for (; i < len; i++) {
+                c = s.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (digits == MAX_DIGITS) {
+                        return false;
+                    }
+                    v = v * 10 + (c - '0');
+                    digits++;
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else if (c == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    return false;
+                }
+            }
+
+            this.unscaled   = negative ? -v : v;
+            this.scale      = Math.max(scale, 0);
+            this.point      = scale >= 0;
+            return digits > 0;
+        }
+
+        boolean isInt() {
+            return !point && (int) unscaled == unscaled;
+        }
+    }
+
+    private static final int SAMPLE_SIZE = 1 << 10;
+    private static final int MAX_DIGITS = 18;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long[] POW10;
+
+    static {
+        POW10 = new long[MAX_DIGITS + 1];
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final Type type;
+    private final int count;
+    private final long[] nulls;
+    private final int[] ints;
+    private final long[] longs;
+    private final double[] doubles;
+    private int nullCount;
+    private int scale;
+
+    private AnalyzerTypedColumn(Type type, int count) {
+        boolean isString = type == Type.STRING;
+        this.type       = type;
+        this.count      = count;
+        this.nulls      = isString ? null : new long[(count + 63) >>> 6];
+        this.ints       = type == Type.INT || type == Type.DATE ? new int[count] : null;
+        this.longs      = type == Type.LONG || type == Type.DECIMAL || type == Type.BOOLEAN ?
+                new long[type == Type.BOOLEAN ? (count + 63) >>> 6 : count] : null;
+        this.doubles    = type == Type.DOUBLE ? new double[count] : null;
+    }
+
+    //region parse
+
+    /**
+     * Infer type of column from a sample of first values and parse all values.
+     * Values are read how char sequences (as cell views), then numbers are parsed without create a String.
+     *
+     * @param column column values, each value is read once before next one.
+     * @param count  count of values
+     * @return typed column
+     */
+    static AnalyzerTypedColumn of(Iterable<? extends CharSequence> column, int count) {
+        Objects.requireNonNull(column);
+        Decimal d = new Decimal();
+        Type type = null;
+        Iterator<? extends CharSequence> it = column.iterator();
+        for (int i = 0; i < SAMPLE_SIZE && it.hasNext(); i++) {
+            type = Type.merge(type, typeOf(it.next(), d));
+        }
+
+        for (type = type == null ? Type.STRING : type; ; ) {
+            AnalyzerTypedColumn typed = new AnalyzerTypedColumn(type, count);
+            Type wider = typed.fill(column.iterator(), d);
+            if (wider == null) {
+                return typed;
+            }
+            type = wider;
+        }
+    }
+
+    private static boolean isDoubleChars(CharSequence s) {
+        boolean digit = false;
+        for (int i = 0, l = s.length(); i < l; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private static boolean isDateChars(CharSequence s) {
+        return s.length() == 10 && s.charAt(4) == '-' && s.charAt(7) == '-';
+    }
+
+    /**
+     * Check whether value is a lower case word ignoring case, how {@link String#equalsIgnoreCase(String)}.
+     */
+    private static boolean isWord(CharSequence s, String word) {
+        if (s.length() != word.length()) {
+            return false;
+        }
+        for (int i = 0, l = word.length(); i < l; i++) {
+            char c = s.charAt(i);
+            if (Character.toUpperCase(c) != Character.toUpperCase(word.charAt(i)) && Character.toLowerCase(c) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBoolean(CharSequence s) {
+        return isWord(s, "true") || isWord(s, "false");
+    }
+
+    /**
+     * Narrowest type of value.
+     *
+     * @return type or null when value is null or empty.
+     */
+    private static Type typeOf(CharSequence s, Decimal d) {
+        if (s == null || s.length() == 0) {
+            return null;
+        } else if (d.parse(s)) {
+            return d.point ? Type.DECIMAL : d.isInt() ? Type.INT : Type.LONG;
+        } else if (isDateChars(s)) {
+            try {
+                LocalDate.parse(s);
+                return Type.DATE;
+            } catch (DateTimeParseException ignored) {
+                return Type.STRING;
+            }
+        } else if (isDoubleChars(s)) {
+            try {
+                IteratorForMath.parseDouble(s, 0, s.length());
+                return Type.DOUBLE;
+            } catch (NumberFormatException ignored) {
+                return Type.STRING;
+            }
+        } else {
+            return isBoolean(s) ? Type.BOOLEAN : Type.STRING;
+        }
+    }
+
+    /**
+     * Parse values to arrays.
+     *
+     * @return null when all values are parsed, otherwise wider type of value out of type.
+     */
+    private Type fill(Iterator<? extends CharSequence> it, Decimal d) {
+        if (type == Type.STRING) {
+            return null;
+        }
+
+        byte[] scales = type == Type.DECIMAL ? new byte[count] : null;
+        for (int row = 0; row < count && it.hasNext(); row++) {
+            CharSequence s = it.next();
+            if (s == null || s.length() == 0) {
+                nulls[row >>> 6] |= 1L << row;
+                nullCount++;
+                continue;
+            }
+
+            switch (type) {
+                case INT:
+                    if (!d.parse(s) || !d.isInt()) {
+                        return Type.merge(type, typeOf(s, d));
+                    }
+                    ints[row] = (int) d.unscaled;
+                    break;
+                case LONG:
+                    if (!d.parse(s) || d.point) {
+                        return Type.merge(type, typeOf(s, d));
+                    }
+                    longs[row] = d.unscaled;
+                    break;
+                case DECIMAL:
+                    if (!d.parse(s)) {
+                        return Type.merge(type, typeOf(s, d));
+                    }
+                    longs[row] = d.unscaled;
+                    scales[row] = (byte) d.scale;
+                    scale = Math.max(scale, d.scale);
+                    break;
+                case DOUBLE:
+                    try {
+                        if (!isDoubleChars(s)) {
+                            return Type.STRING;
+                        }
+                        doubles[row] = IteratorForMath.parseDouble(s, 0, s.length());
+                    } catch (NumberFormatException ignored) {
+                        return Type.STRING;
+                    }
+                    break;
+                case DATE:
+                    try {
+                        if (!isDateChars(s)) {
+                            return Type.STRING;
+                        }
+                        ints[row] = (int) LocalDate.parse(s).toEpochDay();
+                    } catch (DateTimeParseException ignored) {
+                        return Type.STRING;
+                    }
+                    break;
+                default:
+                    if (!isBoolean(s)) {
+                        return Type.STRING;
+                    } else if (s.length() == 4) {
+                        longs[row >>> 6] |= 1L << row;
+                    }
+                    break;
+            }
+        }
+        return scales == null ? null : rescale(scales);
+    }
+
+    /**
+     * Set unscaled decimals to column scale.
+     *
+     * @return null or double type when an unscaled value overflows.
+     */
+    private Type rescale(byte[] scales) {
+        try {
+            for (int row = 0; row < count; row++) {
+                if (scales[row] != scale) {
+                    longs[row] = Math.multiplyExact(longs[row], POW10[scale - scales[row]]);
+                }
+            }
+            return null;
+        } catch (ArithmeticException ignored) {
+            return Type.DOUBLE;
+        }
+    }
+    //endregion
+
+    //region read
+
+    /**
+     * Inferred type of column.
+     *
+     * @return column type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Count of values (rows) of column, including null values.
+     *
+     * @return count of values
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Count of null (missing or empty) values.
+     *
+     * @return count of null values
+     */
+    public int nullCount() {
+        return nullCount;
+    }
+
+    private void requireType(Type... types) {
+        for (Type t : types) {
+            if (t == type) {
+                return;
+            }
+        }
+        throw new IllegalStateException(String.format("Column of %1$s type can not be read how %2$s!", type, types[0]));
+    }
+
+    private boolean isNullAt(int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private int requireValue(int row, Type... types) {
+        requireType(types);
+        if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException();
+        } else if (isNullAt(row)) {
+            throw new IllegalStateException("Value is null!");
+        }
+        return row;
+    }
+
+    /**
+     * Check whether value is null (missing or empty).
+     *
+     * @param row row index
+     * @return true when value is null.
+     */
+    public boolean isNull(int row) {
+        if (type == Type.STRING) {
+            throw new IllegalStateException("Column of STRING type has not typed values!");
+        } else if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+        return isNullAt(row);
+    }
+
+    /**
+     * Value of INT column.
+     *
+     * @param row row index
+     * @return int value
+     */
+    public int getInt(int row) {
+        return ints[requireValue(row, Type.INT)];
+    }
+
+    /**
+     * Value of INT or LONG column.
+     *
+     * @param row row index
+     * @return long value
+     */
+    public long getLong(int row) {
+        requireValue(row, Type.LONG, Type.INT);
+        return type == Type.INT ? ints[row] : longs[row];
+    }
+
+    /**
+     * Value of number column.
+     *
+     * @param row row index
+     * @return nearest double value
+     */
+    public double getDouble(int row) {
+        requireValue(row, Type.DOUBLE, Type.INT, Type.LONG, Type.DECIMAL);
+        return type == Type.INT ? ints[row] :
+                type == Type.LONG ? longs[row] :
+                        type == Type.DECIMAL ? decimalToDouble(longs[row]) : doubles[row];
+    }
+
+    /**
+     * Value of number column.
+     *
+     * @param row row index
+     * @return decimal value
+     */
+    public BigDecimal getDecimal(int row) {
+        requireValue(row, Type.DECIMAL, Type.INT, Type.LONG, Type.DOUBLE);
+        return type == Type.INT ? BigDecimal.valueOf(ints[row]) :
+                type == Type.LONG ? BigDecimal.valueOf(longs[row]) :
+                        type == Type.DECIMAL ? BigDecimal.valueOf(longs[row], scale) : BigDecimal.valueOf(doubles[row]);
+    }
+
+    /**
+     * Value of DATE column.
+     *
+     * @param row row index
+     * @return date value
+     */
+    public LocalDate getDate(int row) {
+        return LocalDate.ofEpochDay(ints[requireValue(row, Type.DATE)]);
+    }
+
+    /**
+     * Value of BOOLEAN column.
+     *
+     * @param row row index
+     * @return boolean value
+     */
+    public boolean getBoolean(int row) {
+        requireValue(row, Type.BOOLEAN);
+        return (longs[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Nearest double of unscaled decimal, divided by an exact power of ten when unscaled is an exact double.
+     */
+    private double decimalToDouble(long unscaled) {
+        return scale == 0 ? unscaled :
+                Math.abs(unscaled) < MAX_EXACT_DOUBLE ? unscaled / (double) POW10[scale] :
+                        BigDecimal.valueOf(unscaled, scale).doubleValue();
+    }
+    //endregion
+
+    //region iterable results
+
+    /**
+     * Next non null row from row.
+     */
+    private int nextRow(int row) {
+        while (row < count && nullCount != 0 && isNullAt(row)) {
+            row++;
+        }
+        return row;
+    }
+
+    private abstract class RowIterator {
+        int row = nextRow(0);
+
+        public boolean hasNext() {
+            return row < count;
+        }
+
+        int nextIndex() {
+            if (row == count) {
+                throw new NoSuchElementException();
+            }
+            int r = row;
+            row = nextRow(row + 1);
+            return r;
+        }
+    }
+
+    /**
+     * Non null values how int.
+     *
+     * @return new iterable result of int values
+     */
+    public IntIterableResult asInt() {
+        requireType(Type.INT);
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                class ForRows extends RowIterator implements PrimitiveIterator.OfInt {
+                    @Override
+                    public int nextInt() {
+                        return ints[nextIndex()];
+                    }
+                }
+                return new ForRows();
+            }
+        };
+    }
+
+    /**
+     * Non null values how long.
+     *
+     * @return new iterable result of long values
+     */
+    public LongIterableResult asLong() {
+        requireType(Type.LONG, Type.INT);
+        if (type == Type.INT) {
+            return asInt().asLong();
+        }
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                class ForRows extends RowIterator implements PrimitiveIterator.OfLong {
+                    @Override
+                    public long nextLong() {
+                        return longs[nextIndex()];
+                    }
+                }
+                return new ForRows();
+            }
+        };
+    }
+
+    /**
+     * Non null values how double.
+     *
+     * @return new iterable result of double values
+     */
+    public DoubleIterableResult asDouble() {
+        requireType(Type.DOUBLE, Type.INT, Type.LONG, Type.DECIMAL);
+        if (type == Type.INT || type == Type.LONG) {
+            return asLong().asDouble();
+        }
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                class ForRows extends RowIterator implements PrimitiveIterator.OfDouble {
+                    @Override
+                    public double nextDouble() {
+                        int r = nextIndex();
+                        return type == Type.DECIMAL ? decimalToDouble(longs[r]) : doubles[r];
+                    }
+                }
+                return new ForRows();
+            }
+        };
+    }
+    //endregion
+
+    //region calculator
+
+    /**
+     * Check whether column values are computed how result class without lose them,
+     * as parsing each value how result class.
+     *
+     * @param resultClass result number class
+     * @return true when sum, average and mean are computed on typed values.
+     */
+    boolean isNumberOf(Class<? extends Number> resultClass) {
+        if (resultClass == Integer.class) {
+            return type == Type.INT;
+        } else if (resultClass == Long.class || resultClass == BigInteger.class) {
+            return type == Type.INT || type == Type.LONG;
+        } else if (resultClass == BigDecimal.class) {
+            return type == Type.INT || type == Type.LONG || type == Type.DECIMAL;
+        } else {
+            return resultClass == Double.class && type.isNumber();
+        }
+    }
+
+    private void requireNumberOf(Class<? extends Number> resultClass) {
+        if (!isNumberOf(Objects.requireNonNull(resultClass))) {
+            throw new IllegalStateException(String.format("Column of %1$s type can not be computed how %2$s!",
+                    type, resultClass.getSimpleName()));
+        }
+    }
+
+    /**
+     * Exact sum (unscaled for decimals) of long values, null values are zero.
+     */
+    private Number sumLongs() {
+        long sum = 0;
+        BigInteger big = null;
+        for (long v : longs) {
+            long r = sum + v;
+            if (((sum ^ r) & (v ^ r)) < 0) {
+                big = (big == null ? BigInteger.valueOf(sum) : big.add(BigInteger.valueOf(sum))).add(BigInteger.valueOf(v));
+                r = 0;
+            }
+            sum = r;
+        }
+        return big == null ? (Number) sum : big.add(BigInteger.valueOf(sum));
+    }
+
+    private Number total() {
+        switch (type) {
+            case INT:
+                long sum = 0;
+                for (int v : ints) {
+                    sum += v;
+                }
+                return sum;
+            case LONG:
+                return sumLongs();
+            case DECIMAL:
+                Number unscaled = sumLongs();
+                return unscaled instanceof BigInteger ?
+                        new BigDecimal((BigInteger) unscaled, scale) : BigDecimal.valueOf(unscaled.longValue(), scale);
+            default:
+                double d = 0;
+                for (double v : doubles) {
+                    d += v;
+                }
+                return d;
+        }
+    }
+
+    private Number valueAt(int row) {
+        switch (type) {
+            case INT:
+                return ints[row];
+            case LONG:
+                return longs[row];
+            case DECIMAL:
+                return BigDecimal.valueOf(longs[row], scale);
+            default:
+                return doubles[row];
+        }
+    }
+
+    /**
+     * Row of minimum or maximum non null value.
+     */
+    private int rowOf(boolean max) {
+        int found = -1;
+        for (int row = nextRow(0); row < count; row = nextRow(row + 1)) {
+            if (found == -1) {
+                found = row;
+                continue;
+            }
+            int c = type == Type.INT ? Integer.compare(ints[row], ints[found]) :
+                    type == Type.DOUBLE ? Double.compare(doubles[row], doubles[found]) : Long.compare(longs[row], longs[found]);
+            if (max ? c > 0 : c < 0) {
+                found = row;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Apply summation operation on non null values.
+     *
+     * @param resultClass number type class, see {@link #isNumberOf(Class)}.
+     * @param <N>         number type
+     * @return summation result
+     */
+    public <N extends Number> N sum(Class<N> resultClass) {
+        requireNumberOf(resultClass);
+        return IteratorForMath.parseNumber(total(), resultClass);
+    }
+
+    /**
+     * Average of non null values.
+     *
+     * @param resultClass number type class
+     * @param <N>         number type
+     * @return average result, null when there is no value.
+     */
+    public <N extends Number> N average(Class<N> resultClass) {
+        N sum = sum(resultClass);
+        int n = count - nullCount;
+        return n > 0 ? IteratorForMath.divide(sum, n) : null;
+    }
+
+    /**
+     * Sum of the smallest value and the largest value of non null values divided by 2.
+     *
+     * @param resultClass number type class
+     * @param <N>         number type
+     * @return mean result, null when there is no value.
+     */
+    public <N extends Number> N mean(Class<N> resultClass) {
+        requireNumberOf(resultClass);
+        int min = rowOf(false);
+        return min == -1 ? null : IteratorForMath.divide(IteratorForMath.sum(
+                IteratorForMath.parseNumber(valueAt(min), resultClass),
+                IteratorForMath.parseNumber(valueAt(rowOf(true)), resultClass)), 2);
+    }
+    //endregion
+
+    @Override
+    public String toString() {
+        return type + "[" + count + "]";
+    }
+}
@@ -17,6 +17,9 @@ import java.util.*;
  */
 public final class CollectionHelper {
 
+    private static final int ARRAY_INITIAL_LENGTH = 16;
+    private static final int ARRAY_MAX_LENGTH = Integer.MAX_VALUE - 8;
+
     private CollectionHelper() {
     }
 
@@ -99,6 +102,17 @@ public final class CollectionHelper {
         OUT reduce(OUT acc, IN curr);
     }
 
+    /**
+     * Join function, mount a element from a pair of joined elements.
+     *
+     * @param <O> outer element
+     * @param <I> inner element
+     * @param <R> generated element
+     */
+    public interface FunctionJoin<O, I, R> {
+        R join(O outer, I inner);
+    }
+
     /**
      * Compare function.
      * @param <E>
@@ -108,6 +122,120 @@ public final class CollectionHelper {
     }
     //endregion
 
+    //region Primitive Functions
+
+    /**
+     * Receive a entry value and mount a int value.
+     *
+     * @param <I> entry value.
+     */
+    public interface FunctionMountToInt<I> {
+        int mount(I i);
+    }
+
+    /**
+     * Receive a int value and mount a new int value.
+     */
+    public interface FunctionMountInt {
+        int mount(int i);
+    }
+
+    /**
+     * Check if current int value is valid.
+     */
+    public interface CompareIntEntryValid {
+        boolean isValid(int i);
+    }
+
+    /**
+     * Receive a int value.
+     */
+    public interface ForEachIntEntryConsumer {
+        void accept(int i);
+    }
+
+    /**
+     * Reduce function for int values.
+     */
+    public interface FunctionReduceInt {
+        int reduce(int acc, int curr);
+    }
+
+    /**
+     * Receive a entry value and mount a long value.
+     *
+     * @param <I> entry value.
+     */
+    public interface FunctionMountToLong<I> {
+        long mount(I i);
+    }
+
+    /**
+     * Receive a long value and mount a new long value.
+     */
+    public interface FunctionMountLong {
+        long mount(long i);
+    }
+
+    /**
+     * Check if current long value is valid.
+     */
+    public interface CompareLongEntryValid {
+        boolean isValid(long i);
+    }
+
+    /**
+     * Receive a long value.
+     */
+    public interface ForEachLongEntryConsumer {
+        void accept(long i);
+    }
+
+    /**
+     * Reduce function for long values.
+     */
+    public interface FunctionReduceLong {
+        long reduce(long acc, long curr);
+    }
+
+    /**
+     * Receive a entry value and mount a double value.
+     *
+     * @param <I> entry value.
+     */
+    public interface FunctionMountToDouble<I> {
+        double mount(I i);
+    }
+
+    /**
+     * Receive a double value and mount a new double value.
+     */
+    public interface FunctionMountDouble {
+        double mount(double i);
+    }
+
+    /**
+     * Check if current double value is valid.
+     */
+    public interface CompareDoubleEntryValid {
+        boolean isValid(double i);
+    }
+
+    /**
+     * Receive a double value.
+     */
+    public interface ForEachDoubleEntryConsumer {
+        void accept(double i);
+    }
+
+    /**
+     * Reduce function for double values.
+     */
+    public interface FunctionReduceDouble {
+        double reduce(double acc, double curr);
+    }
+    //endregion
+
     //region toArray
 
     /**
@@ -165,21 +293,20 @@ public final class CollectionHelper {
      */
     public static <C extends Iterable<? extends I>, I> I[] toArray(C col) {
         Objects.requireNonNull(col);
+        long size = IterableResultPlan.sizeOf(col);
+        Object[] buffer = new Object[IterableResultPlan.isSized(col) ? (int) size : (int) Math.min(size, ARRAY_INITIAL_LENGTH)];
+        Class<?> type = null;
         int i = 0;
-        int len = 100;
-        I[] arr = null;
 
         for (I t : col) {
-            if (arr == null) {
-                arr = copyOf(len, t);
-            } else if (i == arr.length) {
-                arr = copyOf(arr.length + len, arr);
+            if (i == buffer.length) {
+                buffer = Arrays.copyOf(buffer, growLength(buffer.length, size));
             }
-            arr[i++] = t;
+            buffer[i++] = t;
+            type = commonType(type, t);
         }
 
-        return arr == null ? copyOf(0) :
-                i < arr.length ? copyOf(i, arr) : arr;
+        return newArray(type, buffer, i);
     }
 
     /**
@@ -193,16 +320,55 @@ public final class CollectionHelper {
      */
     public static <C extends Iterable<? extends I>, I> I[] toArray(C col, int size) {
         Objects.requireNonNull(col);
+        Object[] buffer = new Object[size];
+        Class<?> type = null;
         int i = 0;
-        I[] arr = copyOf(size);
 
         for (I t : col) {
             if (i == size) {
                 break;
             }
-            arr[i++] = t;
+            buffer[i++] = t;
+            type = commonType(type, t);
+        }
+
+        return newArray(type, buffer, size);
+    }
+
+    /**
+     * Nearest common class of current type and element class, without looking any other element.
+     */
+    private static Class<?> commonType(Class<?> type, Object e) {
+        if (e == null) {
+            return type;
+        }
+
+        Class<?> eType = e.getClass();
+        if (type == null) {
+            return eType;
+        }
+
+        while (!type.isAssignableFrom(eType)) {
+            type = type.getSuperclass();
+        }
+        return type;
+    }
+
+    /**
+     * Next array length, growing geometrically until size upper bound.
+     */
+    private static int growLength(int length, long size) {
+        long newLength = Math.max(ARRAY_INITIAL_LENGTH, (long) length << 1);
+        if (size > length && size < newLength) {
+            newLength = size;
         }
+        return (int) Math.min(newLength, ARRAY_MAX_LENGTH);
+    }
 
+    @SuppressWarnings("unchecked")
+    private static <E> E[] newArray(Class<?> type, Object[] buffer, int length) {
+        E[] arr = (E[]) Array.newInstance(type == null ? Object.class : type, length);
+        System.arraycopy(buffer, 0, arr, 0, Math.min(buffer.length, length));
         return arr;
     }
 
@@ -218,15 +384,12 @@ public final class CollectionHelper {
     @SuppressWarnings("unchecked")
     private static <E> E[] copyOf(int length, E... array) {
         if (array.length > 0) {
-            Class<?> type;
-            if (array.length == 1) {
-                type = array[0].getClass();
-            } else {
-                List<Class<?>> res = nonNull(array).<Class<?>>distinct(E::getClass).toList();
-                type = res.size() == 1 ? array[0].getClass() : array.getClass().getComponentType();
+            Class<?> type = null;
+            for (E e : array) {
+                type = commonType(type, e);
             }
 
-            E[] copy = (E[]) Array.newInstance(type, length);
+            E[] copy = (E[]) Array.newInstance(type == null ? array.getClass().getComponentType() : type, length);
             System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
             return copy;
         }
@@ -303,7 +466,8 @@ public final class CollectionHelper {
      * @return new list within iterable elements
      */
     public static <E> List<E> toList(Iterable<E> iterable) {
-        List<E> list = new ArrayList<>();
+        List<E> list = IterableResultPlan.isSized(iterable) ?
+                new ArrayList<>((int) IterableResultPlan.sizeOf(iterable)) : new ArrayList<>();
         foreach(iterable, (ForEachEntryConsumer<E>) list::add);
         return list;
     }
@@ -316,7 +480,7 @@ public final class CollectionHelper {
      * @return new list within iterable elements
      */
     public static <E> List<E> toList(E[] arr) {
-        List<E> list = new ArrayList<>();
+        List<E> list = new ArrayList<>(arr.length);
         foreach(arr, (ForEachEntryConsumer<E>) list::add);
         return list;
     }
@@ -332,7 +496,8 @@ public final class CollectionHelper {
      * @return new set within iterable elements
      */
     public static <E> Set<E> toSet(Iterable<E> iterable) {
-        Set<E> set = new HashSet<>();
+        Set<E> set = IterableResultPlan.isSized(iterable) ?
+                new HashSet<>(hashCapacity(IterableResultPlan.sizeOf(iterable))) : new HashSet<>();
         foreach(iterable, set::add);
         return set;
     }
@@ -345,10 +510,17 @@ public final class CollectionHelper {
      * @return new set within iterable elements
      */
     public static <E> Set<E> toSet(E[] arr) {
-        Set<E> set = new HashSet<>();
+        Set<E> set = new HashSet<>(hashCapacity(arr.length));
         foreach(arr, set::add);
         return set;
     }
+
+    /**
+     * Hash capacity to keep size elements without rehash (default load factor).
+     */
+    private static int hashCapacity(long size) {
+        return (int) Math.min(size / .75f + 1, ARRAY_MAX_LENGTH);
+    }
     //endregion
 
     //region repeat
@@ -715,7 +887,9 @@ public final class CollectionHelper {
      * @return a new iterable result within elements filtered
      */
     public static <I> IterableResult<I> filter(Iterable<I> col, CompareEntryValid<I> where) {
-        return IterableResultFactory.getInstanceForFilter(col::iterator, where);
+        return col instanceof List && col instanceof RandomAccess ?
+                IterableResultFactory.getInstanceForFilterList((List<I>) col, where) :
+                IterableResultFactory.getInstanceForFilterIterable(col, where);
     }
 
     /**
@@ -752,7 +926,7 @@ public final class CollectionHelper {
      * @return a new iterable result within elements filtered by non null condition.
      */
     public static <I> IterableResult<I> nonNull(Iterable<I> col) {
-        return IterableResultFactory.getInstanceForFilter(col::iterator, Objects::nonNull);
+        return IterableResultFactory.getInstanceForNonNullIterable(col);
     }
 
     /**
@@ -807,6 +981,112 @@ public final class CollectionHelper {
     public static <K, V> IterableResultGroup<K, V> groupBy(V[] arr, FunctionMount<V, K> groupFun) {
         return IterableResultFactory.getInstanceForGroupArray(arr, groupFun);
     }
+
+    private static <V> IterableResult<V> toResult(Iterable<V> col) {
+        return col instanceof IterableResult ? (IterableResult<V>) col : select(col, v -> v);
+    }
+
+    /**
+     * Group elements by groupFun key result under a memory budget,
+     * when budget is exceeded elements are hashed by key out to temporary files and grouped by partition.
+     *
+     * @param col      target.
+     * @param groupFun group function to get grouping key.
+     * @param spill    spill policy, as {@link Spill#of(int)}.
+     * @param <K>      key type
+     * @param <V>      value type
+     * @return an instance of iterable result group whithin set values grouped by key.
+     */
+    public static <K, V> IterableResultGroup<K, V> groupBy(Iterable<V> col, FunctionMount<V, K> groupFun,
+                                                           Spill<? super V> spill) {
+        return toResult(col).groupBy(groupFun, spill);
+    }
+
+    /**
+     * Group elements by groupFun key result under a memory budget,
+     * when budget is exceeded elements are hashed by key out to temporary files and grouped by partition.
+     *
+     * @param arr      target.
+     * @param groupFun group function to get grouping key.
+     * @param spill    spill policy, as {@link Spill#of(int)}.
+     * @param <K>      key type
+     * @param <V>      value type
+     * @return an instance of iterable result group whithin set values grouped by key.
+     */
+    public static <K, V> IterableResultGroup<K, V> groupBy(V[] arr, FunctionMount<V, K> groupFun,
+                                                           Spill<? super V> spill) {
+        return select(arr, v -> v).groupBy(groupFun, spill);
+    }
+
+    /**
+     * Group elements by groupFun key result, folding each element into group aggregate on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param col        target.
+     * @param groupFun   group function to get grouping key.
+     * @param aggregator aggregator applied on each group.
+     * @param <K>        key type
+     * @param <V>        value type
+     * @param <R>        aggregate result type
+     * @return an instance of iterable result map within aggregate result of each key.
+     */
+    public static <K, V, R> IterableResultMap<K, R> groupBy(Iterable<V> col, FunctionMount<V, K> groupFun,
+                                                            Aggregator<V, ?, R> aggregator) {
+        return toResult(col).groupBy(groupFun, aggregator);
+    }
+
+    /**
+     * Group elements by groupFun key result, folding each element into aggregates of group on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param col         target.
+     * @param groupFun    group function to get grouping key.
+     * @param aggregators aggregators applied on each group.
+     * @param <K>         key type
+     * @param <V>         value type
+     * @return an instance of iterable result map within aggregate results of each key,
+     * read by {@link Aggregator.Results#get(Aggregator)}.
+     */
+    @SafeVarargs
+    public static <K, V> IterableResultMap<K, Aggregator.Results> groupByAll(Iterable<V> col, FunctionMount<V, K> groupFun,
+                                                                             Aggregator<V, ?, ?>... aggregators) {
+        return toResult(col).groupByAll(groupFun, aggregators);
+    }
+
+    /**
+     * Group elements by groupFun key result, folding each element into group aggregate on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param arr        target.
+     * @param groupFun   group function to get grouping key.
+     * @param aggregator aggregator applied on each group.
+     * @param <K>        key type
+     * @param <V>        value type
+     * @param <R>        aggregate result type
+     * @return an instance of iterable result map within aggregate result of each key.
+     */
+    public static <K, V, R> IterableResultMap<K, R> groupBy(V[] arr, FunctionMount<V, K> groupFun,
+                                                            Aggregator<V, ?, R> aggregator) {
+        return select(arr, v -> v).groupBy(groupFun, aggregator);
+    }
+
+    /**
+     * Group elements by groupFun key result, folding each element into aggregates of group on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param arr         target.
+     * @param groupFun    group function to get grouping key.
+     * @param aggregators aggregators applied on each group.
+     * @param <K>         key type
+     * @param <V>         value type
+     * @return an instance of iterable result map within aggregate results of each key,
+     * read by {@link Aggregator.Results#get(Aggregator)}.
+     */
+    @SafeVarargs
+    public static <K, V> IterableResultMap<K, Aggregator.Results> groupByAll(V[] arr, FunctionMount<V, K> groupFun,
+                                                                             Aggregator<V, ?, ?>... aggregators) {
+        return select(arr, v -> v).groupByAll(groupFun, aggregators);
+    }
     //endregion
 
     //region select
@@ -834,7 +1114,9 @@ public final class CollectionHelper {
      * @return new iterable wihitin set of values from mount function.
      */
     public static <IN, OUT> IterableResult<OUT> select(Iterable<IN> col, FunctionMount<IN, OUT> mount) {
-        return IterableResultFactory.getInstanceForSelect(col::iterator, mount);
+        return col instanceof List && col instanceof RandomAccess ?
+                IterableResultFactory.getInstanceForSelectList((List<IN>) col, mount) :
+                IterableResultFactory.getInstanceForSelectIterable(col, mount);
     }
 
     /**
@@ -851,6 +1133,33 @@ public final class CollectionHelper {
     }
     //endregion
 
+    //region parallel
+
+    /**
+     * Iterable result of array on parallel mode, terminal actions splitting
+     * array in ranges executed on common ForkJoinPool.
+     *
+     * @param arr target
+     * @param <E> element type
+     * @return new iterable result on parallel mode.
+     */
+    public static <E> IterableResult<E> parallel(E[] arr) {
+        return IterableResultFactory.getInstanceForSelectArray(arr, (E e) -> e).parallel();
+    }
+
+    /**
+     * Iterable result of list on parallel mode, when list is random access terminal actions
+     * splitting list in ranges executed on common ForkJoinPool, otherwise executed sequential.
+     *
+     * @param list target
+     * @param <E>  element type
+     * @return new iterable result on parallel mode.
+     */
+    public static <E> IterableResult<E> parallel(List<E> list) {
+        return select(list, (E e) -> e).parallel();
+    }
+    //endregion
+
     //region merge
 
     /**
@@ -944,6 +1253,94 @@ public final class CollectionHelper {
     }
     //endregion
 
+    //region except
+
+    /**
+     * Difference of collections, elements of current iterable
+     * not contained in any other, without duplicated elements.
+     *
+     * @param curr current iterable base.
+     * @param args one or more iterable whitin elements to remove from current iterable base.
+     * @param <I>  iterable base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> except(Iterable<I> curr, Iterable<? extends I>... args) {
+        return IterableResultFactory.getInstanceForExcept(curr, args);
+    }
+
+    /**
+     * Difference of collections, elements of current array
+     * not contained in any other, without duplicated elements.
+     *
+     * @param arr  current array base.
+     * @param args one or more iterable whitin elements to remove from current array base.
+     * @param <I>  array base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> except(I[] arr, Iterable<? extends I>... args) {
+        return IterableResultFactory.getInstanceForExcept(arr, args);
+    }
+
+    /**
+     * Difference of collections, elements of current array
+     * not contained in any other, without duplicated elements.
+     *
+     * @param arr  current array base.
+     * @param arg  array whitin elements to remove from current array base.
+     * @param args others arrays whitin elements to remove from current array base.
+     * @param <I>  array base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> except(I[] arr, I[] arg, I[]... args) {
+        return IterableResultFactory.getInstanceForExceptArray(arr, arg, args);
+    }
+
+    /**
+     * Difference of collections, elements of current iterable
+     * not contained in any other, without duplicated elements.
+     *
+     * @param curr current iterable base.
+     * @param arg  array whitin elements to remove from current iterable base.
+     * @param args others arrays whitin elements to remove from current iterable base.
+     * @param <I>  iterable base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> except(Iterable<I> curr, I[] arg, I[]... args) {
+        return IterableResultFactory.getInstanceForExceptArray(curr, arg, args);
+    }
+    //endregion
+
+    //region union
+
+    /**
+     * Union of two or more collections without duplicated elements.
+     *
+     * @param args one or more iterable.
+     * @param <I>  iterable base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> union(Iterable<? extends I>... args) {
+        return CollectionHelper.<I>merge(args).distinct();
+    }
+
+    /**
+     * Union of two or more collections without duplicated elements.
+     *
+     * @param args one or more arrays.
+     * @param <I>  array base type
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public static <I> IterableResult<I> union(I[]... args) {
+        return merge(args).distinct();
+    }
+    //endregion
+
     //region reduce
 
     /**
@@ -1471,7 +1868,7 @@ public final class CollectionHelper {
      * @return new iterable result with distinct elements.
      */
     public static <IN, OUT> IterableResult<OUT> distinct(Iterator<IN> iterator, FunctionMount<IN, OUT> mount) {
-        return IterableResultFactory.getInstanceForDistinct(() -> iterator, mount);
+        return IterableResultFactory.getInstanceForDistinct(() -> iterator, mount, false);
     }
 
     /**
@@ -1483,7 +1880,7 @@ public final class CollectionHelper {
      * @return new iterable result with distinct elements.
      */
     public static <IN, OUT> IterableResult<OUT> distinct(Iterable<IN> col, FunctionMount<IN, OUT> mount) {
-        return IterableResultFactory.getInstanceForDistinct(col::iterator, mount);
+        return IterableResultFactory.getInstanceForDistinct(col::iterator, mount, false);
     }
 
     /**
@@ -1495,7 +1892,7 @@ public final class CollectionHelper {
      * @return new iterable result with distinct elements.
      */
     public static <IN, OUT> IterableResult<OUT> distinct(IN[] arr, FunctionMount<IN, OUT> mount) {
-        return IterableResultFactory.getInstanceForDistinctArray(arr, mount);
+        return IterableResultFactory.getInstanceForDistinctArray(arr, mount, false);
     }
 
     /**
@@ -1515,7 +1912,7 @@ public final class CollectionHelper {
      * @return new iterable result with distinct elements.
      */
     public static <E> IterableResult<E> distinct(Iterable<E> col) {
-        return distinct(col, i -> i);
+        return IterableResultFactory.getInstanceForDistinctIterable(col);
     }
 
     /**
@@ -1527,6 +1924,84 @@ public final class CollectionHelper {
     public static <E> IterableResult<E> distinct(E[] arr) {
         return distinct(arr, i -> i);
     }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param iterator target
+     * @param mount    function to mount output distinct value
+     * @param <OUT>    output type
+     * @return new iterable result with distinct elements.
+     */
+    public static <IN, OUT> IterableResult<OUT> distinctComparable(Iterator<IN> iterator, FunctionMount<IN, OUT> mount) {
+        return IterableResultFactory.getInstanceForDistinct(() -> iterator, mount, true);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param col   target
+     * @param mount function to mount output distinct value
+     * @param <OUT> output type
+     * @return new iterable result with distinct elements.
+     */
+    public static <IN, OUT> IterableResult<OUT> distinctComparable(Iterable<IN> col, FunctionMount<IN, OUT> mount) {
+        return IterableResultFactory.getInstanceForDistinct(col::iterator, mount, true);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param arr   target
+     * @param mount function to mount output distinct value
+     * @param <OUT> output type
+     * @return new iterable result with distinct elements.
+     */
+    public static <IN, OUT> IterableResult<OUT> distinctComparable(IN[] arr, FunctionMount<IN, OUT> mount) {
+        return IterableResultFactory.getInstanceForDistinctArray(arr, mount, true);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param iterator target
+     * @return new iterable result with distinct elements.
+     */
+    public static <E> IterableResult<E> distinctComparable(Iterator<E> iterator) {
+        return distinctComparable(iterator, i -> i);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param col target
+     * @return new iterable result with distinct elements.
+     */
+    public static <E> IterableResult<E> distinctComparable(Iterable<E> col) {
+        return distinctComparable(col, i -> i);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param arr target
+     * @return new iterable result with distinct elements.
+     */
+    public static <E> IterableResult<E> distinctComparable(E[] arr) {
+        return distinctComparable(arr, i -> i);
+    }
     //endregion
 
     //region foreach
@@ -1541,7 +2016,10 @@ public final class CollectionHelper {
     public static <I> void foreach(Iterable<I> list, ForEachEntryConsumer<I> action) {
         Objects.requireNonNull(list);
         Objects.requireNonNull(action);
-        for (I e : list) action.accept(e);
+        IteratorForPush.forEachWhile(list, e -> {
+            action.accept(e);
+            return true;
+        });
     }
 
     /**
@@ -1554,8 +2032,11 @@ public final class CollectionHelper {
     public static <I> void foreach(Iterable<I> list, ForEachIterableEntryConsumer<I> action) {
         Objects.requireNonNull(list);
         Objects.requireNonNull(action);
-        int i = 0;
-        for (I e : list) action.accept(e, i++);
+        int[] i = {0};
+        IteratorForPush.forEachWhile(list, e -> {
+            action.accept(e, i[0]++);
+            return true;
+        });
     }
 
     /**
@@ -1595,14 +2076,7 @@ public final class CollectionHelper {
      * @return return true when all elements on collection pass on test action.
      */
     public static <I> boolean all(Iterable<I> list, CompareEntryValid<I> action) {
-        Objects.requireNonNull(list);
-        Objects.requireNonNull(action);
-        for (I e : list) {
-            if (!action.isValid(e)) {
-                return false;
-            }
-        }
-        return true;
+        return IteratorForPush.all(list, action);
     }
 
     /**
@@ -1634,14 +2108,7 @@ public final class CollectionHelper {
      * @return return true when at least one element on collection pass on test action.
      */
     public static <I> boolean any(Iterable<I> list, CompareEntryValid<I> action) {
-        Objects.requireNonNull(list);
-        Objects.requireNonNull(action);
-        for (I e : list) {
-            if (action.isValid(e)) {
-                return true;
-            }
-        }
-        return false;
+        return IteratorForPush.any(list, action);
     }
 
     /**
@@ -1675,7 +2142,7 @@ public final class CollectionHelper {
      * @return new iterable result with non elements after offset count.
      */
     public static <I> IterableResult<I> jump(Iterable<I> set, int count) {
-        return IterableResultFactory.getInstanceForJump(set::iterator, count);
+        return IterableResultFactory.getInstanceForJumpIterable(set, count);
     }
 
     /**
@@ -1703,7 +2170,7 @@ public final class CollectionHelper {
      * @return new iterable result with taked elements.
      */
     public static <I> IterableResult<I> take(Iterable<I> set, int count) {
-        return IterableResultFactory.getInstanceForTake(set::iterator, count);
+        return IterableResultFactory.getInstanceForTakeIterable(set, count);
     }
 
     /**
@@ -1720,6 +2187,212 @@ public final class CollectionHelper {
     }
     //endregion
 
+    //region orderBy
+
+    /**
+     * Order elements by ascending key (stable, equal elements keep source order).
+     *
+     * @param col    target
+     * @param keyFun function to get Comparable key of element
+     * @param <I>    element type
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public static <I, C extends Comparable<C>> IterableResultOrdered<I> orderBy(Iterable<I> col, FunctionMount<I, C> keyFun) {
+        return orderWith(col, IteratorForOrder.comparing(keyFun, false));
+    }
+
+    /**
+     * Order elements by ascending key (stable, equal elements keep source order).
+     *
+     * @param arr    target
+     * @param keyFun function to get Comparable key of element
+     * @param <I>    element type
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public static <I, C extends Comparable<C>> IterableResultOrdered<I> orderBy(I[] arr, FunctionMount<I, C> keyFun) {
+        return orderBy(Arrays.asList(arr), keyFun);
+    }
+
+    /**
+     * Order elements by descending key (stable, equal elements keep source order).
+     *
+     * @param col    target
+     * @param keyFun function to get Comparable key of element
+     * @param <I>    element type
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public static <I, C extends Comparable<C>> IterableResultOrdered<I> orderByDescending(Iterable<I> col, FunctionMount<I, C> keyFun) {
+        return orderWith(col, IteratorForOrder.comparing(keyFun, true));
+    }
+
+    /**
+     * Order elements by descending key (stable, equal elements keep source order).
+     *
+     * @param arr    target
+     * @param keyFun function to get Comparable key of element
+     * @param <I>    element type
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public static <I, C extends Comparable<C>> IterableResultOrdered<I> orderByDescending(I[] arr, FunctionMount<I, C> keyFun) {
+        return orderByDescending(Arrays.asList(arr), keyFun);
+    }
+
+    /**
+     * Order elements by comparator (stable, equal elements keep source order).
+     *
+     * @param col        target
+     * @param comparator element comparator
+     * @param <I>        element type
+     * @return new ordered iterable result.
+     */
+    public static <I> IterableResultOrdered<I> orderWith(Iterable<I> col, Comparator<? super I> comparator) {
+        return new IterableResultOrdered<>(col, comparator);
+    }
+
+    /**
+     * Order elements by comparator (stable, equal elements keep source order).
+     *
+     * @param arr        target
+     * @param comparator element comparator
+     * @param <I>        element type
+     * @return new ordered iterable result.
+     */
+    public static <I> IterableResultOrdered<I> orderWith(I[] arr, Comparator<? super I> comparator) {
+        return orderWith(Arrays.asList(arr), comparator);
+    }
+    //endregion
+
+    //region join elements
+
+    /**
+     * Join outer and inner elements of equal key (hash join), generating an element for each pair.
+     * Smaller side (inner when sizes are unknown) is indexed by key, other side is streamed
+     * (on parallel when it is an array or random access list on parallel mode)
+     * and generated elements follow its order. Null keys never match.
+     *
+     * @param outer     outer elements
+     * @param inner     inner elements
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> join(Iterable<O> outer, Iterable<I> inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, I, R> resultFun) {
+        return IteratorForHashJoin.join(outer, inner, outerKey, innerKey, resultFun, false);
+    }
+
+    /**
+     * Join outer and inner elements of equal key (hash join), generating an element for each pair.
+     * Smaller side (inner when sizes are unknown) is indexed by key, other side is streamed
+     * (on parallel when it is an array or random access list on parallel mode)
+     * and generated elements follow its order. Null keys never match.
+     *
+     * @param outer     outer array
+     * @param inner     inner array
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> join(O[] outer, I[] inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, I, R> resultFun) {
+        return IteratorForHashJoin.join(Arrays.asList(outer), Arrays.asList(inner), outerKey, innerKey, resultFun, false);
+    }
+
+    /**
+     * Join outer and inner elements of equal key (hash join), generating an element for each pair
+     * and for each outer element without match (paired with null inner).
+     *
+     * @param outer     outer elements
+     * @param inner     inner elements
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> leftJoin(Iterable<O> outer, Iterable<I> inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, I, R> resultFun) {
+        return IteratorForHashJoin.join(outer, inner, outerKey, innerKey, resultFun, true);
+    }
+
+    /**
+     * Join outer and inner elements of equal key (hash join), generating an element for each pair
+     * and for each outer element without match (paired with null inner).
+     *
+     * @param outer     outer array
+     * @param inner     inner array
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> leftJoin(O[] outer, I[] inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, I, R> resultFun) {
+        return IteratorForHashJoin.join(Arrays.asList(outer), Arrays.asList(inner), outerKey, innerKey, resultFun, true);
+    }
+
+    /**
+     * Join each outer element with group of inner elements of equal key (empty when there is none),
+     * inner elements are indexed by key and outer elements streamed.
+     *
+     * @param outer     outer elements
+     * @param inner     inner elements
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each outer element and its inner group
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> groupJoin(Iterable<O> outer, Iterable<I> inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, IterableResult<I>, R> resultFun) {
+        return IteratorForHashJoin.groupJoin(outer, inner, outerKey, innerKey, resultFun);
+    }
+
+    /**
+     * Join each outer element with group of inner elements of equal key (empty when there is none),
+     * inner elements are indexed by key and outer elements streamed.
+     *
+     * @param outer     outer array
+     * @param inner     inner array
+     * @param outerKey  function to get key of outer elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each outer element and its inner group
+     * @param <O>       outer element type
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public static <O, I, K, R> IterableResult<R> groupJoin(O[] outer, I[] inner,
+            FunctionMount<O, K> outerKey, FunctionMount<I, K> innerKey, FunctionJoin<O, IterableResult<I>, R> resultFun) {
+        return IteratorForHashJoin.groupJoin(Arrays.asList(outer), Arrays.asList(inner), outerKey, innerKey, resultFun);
+    }
+    //endregion
+
     //region count
 
     /**
@@ -1731,12 +2404,12 @@ public final class CollectionHelper {
     public static int count(Iterable<?> set) {
         if (set instanceof Collection) {
             return ((Collection<?>) set).size();
+        } else if (IterableResultPlan.isSized(set)) {
+            return (int) Math.min(IterableResultPlan.sizeOf(set), Integer.MAX_VALUE);
         } else if (set instanceof Map) {
             return ((Map<?, ?>) set).size();
         } else {
-            int c = 0;
-            for (Object i : set) c++;
-            return c;
+            return IteratorForPush.count(set, null);
         }
     }
 
@@ -1748,15 +2421,7 @@ public final class CollectionHelper {
      * @return count of element into condition.
      */
     public static <E> int count(Iterable<E> set, CompareEntryValid<E> where) {
-        Objects.requireNonNull(set);
-        Objects.requireNonNull(where);
-        int count = 0;
-        for(E e : set) {
-            if(where.isValid(e)) {
-                count++;
-            }
-        }
-        return count;
+        return IteratorForPush.count(set, Objects.requireNonNull(where));
     }
 
     /**
@@ -1832,7 +2497,216 @@ public final class CollectionHelper {
     }
     //endregion
 
+    //region mapToInt
+
+    /**
+     * Mount a int value from each element of collection, without boxing it.
+     *
+     * @param iterator target
+     * @param mount    function to mount int value
+     * @param <I>      element type
+     * @return new iterable result of int values.
+     */
+    public static <I> IntIterableResult mapToInt(Iterator<I> iterator, FunctionMountToInt<I> mount) {
+        return IterableResultFactory.getInstanceForMapToInt(() -> iterator, mount);
+    }
+
+    /**
+     * Mount a int value from each element of collection, without boxing it.
+     *
+     * @param col   target
+     * @param mount function to mount int value
+     * @param <I>   element type
+     * @return new iterable result of int values.
+     */
+    public static <I> IntIterableResult mapToInt(Iterable<I> col, FunctionMountToInt<I> mount) {
+        return IterableResultFactory.getInstanceForMapToInt(col::iterator, mount);
+    }
+
+    /**
+     * Mount a int value from each element of array, without boxing it.
+     *
+     * @param arr   target
+     * @param mount function to mount int value
+     * @param <I>   element type
+     * @return new iterable result of int values.
+     */
+    public static <I> IntIterableResult mapToInt(I[] arr, FunctionMountToInt<I> mount) {
+        Objects.requireNonNull(arr);
+        return IterableResultFactory.getInstanceForMapToInt(() -> new IteratorForSelectArray<>(arr), mount);
+    }
+    //endregion
+
+    //region mapToLong
+
+    /**
+     * Mount a long value from each element of collection, without boxing it.
+     *
+     * @param iterator target
+     * @param mount    function to mount long value
+     * @param <I>      element type
+     * @return new iterable result of long values.
+     */
+    public static <I> LongIterableResult mapToLong(Iterator<I> iterator, FunctionMountToLong<I> mount) {
+        return IterableResultFactory.getInstanceForMapToLong(() -> iterator, mount);
+    }
+
+    /**
+     * Mount a long value from each element of collection, without boxing it.
+     *
+     * @param col   target
+     * @param mount function to mount long value
+     * @param <I>   element type
+     * @return new iterable result of long values.
+     */
+    public static <I> LongIterableResult mapToLong(Iterable<I> col, FunctionMountToLong<I> mount) {
+        return IterableResultFactory.getInstanceForMapToLong(col::iterator, mount);
+    }
+
+    /**
+     * Mount a long value from each element of array, without boxing it.
+     *
+     * @param arr   target
+     * @param mount function to mount long value
+     * @param <I>   element type
+     * @return new iterable result of long values.
+     */
+    public static <I> LongIterableResult mapToLong(I[] arr, FunctionMountToLong<I> mount) {
+        Objects.requireNonNull(arr);
+        return IterableResultFactory.getInstanceForMapToLong(() -> new IteratorForSelectArray<>(arr), mount);
+    }
+    //endregion
+
+    //region mapToDouble
+
+    /**
+     * Mount a double value from each element of collection, without boxing it.
+     *
+     * @param iterator target
+     * @param mount    function to mount double value
+     * @param <I>      element type
+     * @return new iterable result of double values.
+     */
+    public static <I> DoubleIterableResult mapToDouble(Iterator<I> iterator, FunctionMountToDouble<I> mount) {
+        return IterableResultFactory.getInstanceForMapToDouble(() -> iterator, mount);
+    }
+
+    /**
+     * Mount a double value from each element of collection, without boxing it.
+     *
+     * @param col   target
+     * @param mount function to mount double value
+     * @param <I>   element type
+     * @return new iterable result of double values.
+     */
+    public static <I> DoubleIterableResult mapToDouble(Iterable<I> col, FunctionMountToDouble<I> mount) {
+        return IterableResultFactory.getInstanceForMapToDouble(col::iterator, mount);
+    }
+
+    /**
+     * Mount a double value from each element of array, without boxing it.
+     *
+     * @param arr   target
+     * @param mount function to mount double value
+     * @param <I>   element type
+     * @return new iterable result of double values.
+     */
+    public static <I> DoubleIterableResult mapToDouble(I[] arr, FunctionMountToDouble<I> mount) {
+        Objects.requireNonNull(arr);
+        return IterableResultFactory.getInstanceForMapToDouble(() -> new IteratorForSelectArray<>(arr), mount);
+    }
+    //endregion
+
     //region for primitives
+    //region asResult
+
+    /**
+     * Iterable result of int array, reading values without boxing them.
+     *
+     * @param arr target
+     * @return new iterable result of int values.
+     */
+    public static IntIterableResult asResult(int[] arr) {
+        return IterableResultFactory.getInstanceForIntArray(arr);
+    }
+
+    /**
+     * Iterable result of long array, reading values without boxing them.
+     *
+     * @param arr target
+     * @return new iterable result of long values.
+     */
+    public static LongIterableResult asResult(long[] arr) {
+        return IterableResultFactory.getInstanceForLongArray(arr);
+    }
+
+    /**
+     * Iterable result of double array, reading values without boxing them.
+     *
+     * @param arr target
+     * @return new iterable result of double values.
+     */
+    public static DoubleIterableResult asResult(double[] arr) {
+        return IterableResultFactory.getInstanceForDoubleArray(arr);
+    }
+    //endregion
+
+    //region sum
+    public static long sum(int[] arr) {
+        return asResult(arr).sum();
+    }
+
+    public static long sum(long[] arr) {
+        return asResult(arr).sum();
+    }
+
+    public static double sum(double[] arr) {
+        return asResult(arr).sum();
+    }
+    //endregion
+
+    //region average
+    public static double average(int[] arr) {
+        return asResult(arr).average();
+    }
+
+    public static double average(long[] arr) {
+        return asResult(arr).average();
+    }
+
+    public static double average(double[] arr) {
+        return asResult(arr).average();
+    }
+    //endregion
+
+    //region min
+    public static int min(int[] arr) {
+        return asResult(arr).min();
+    }
+
+    public static long min(long[] arr) {
+        return asResult(arr).min();
+    }
+
+    public static double min(double[] arr) {
+        return asResult(arr).min();
+    }
+    //endregion
+
+    //region max
+    public static int max(int[] arr) {
+        return asResult(arr).max();
+    }
+
+    public static long max(long[] arr) {
+        return asResult(arr).max();
+    }
+
+    public static double max(double[] arr) {
+        return asResult(arr).max();
+    }
+    //endregion
+
     //region foreach
     public static void foreach(char[] arr, ForEachEntryConsumer<Character> action) {
         Objects.requireNonNull(arr);
@@ -0,0 +1,228 @@
+package atomatus.linq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Generated result of double values from {@link CollectionHelper} or {@link IterableResult},
+ * all actions read elements how primitive double, without boxing them to Double.
+ *
+ * @author Carlos Matos
+ */
+public abstract class DoubleIterableResult implements Iterable<Double> {
+
+    @Override
+    public abstract PrimitiveIterator.OfDouble iterator();
+
+    /**
+     * Convert current iterable result to array.
+     *
+     * @return new array within iterable elements.
+     */
+    public double[] toArray() {
+        double[] arr = new double[16];
+        int size = 0;
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            if(size == arr.length) {
+                arr = Arrays.copyOf(arr, size << 1);
+            }
+            arr[size++] = it.nextDouble();
+        }
+        return size == arr.length ? arr : Arrays.copyOf(arr, size);
+    }
+
+    /**
+     * Filter values by condition.
+     *
+     * @param where condition to accept value
+     * @return new iterable result with accepted values.
+     */
+    public DoubleIterableResult filter(CollectionHelper.CompareDoubleEntryValid where) {
+        return IterableResultFactory.getInstanceForDoubleFilter(this, where);
+    }
+
+    /**
+     * Mount a new value from each value.
+     *
+     * @param mount function to mount new value
+     * @return new iterable result with mounted values.
+     */
+    public DoubleIterableResult select(CollectionHelper.FunctionMountDouble mount) {
+        return IterableResultFactory.getInstanceForDoubleSelect(this, mount);
+    }
+
+    /**
+     * How like literally named, "jump" values returning all others values after offset count it.
+     *
+     * @param count count of values will be discarted
+     * @return new iterable result with values after offset count.
+     */
+    public DoubleIterableResult jump(int count) {
+        return IterableResultFactory.getInstanceForDoubleJump(this, count);
+    }
+
+    /**
+     * Take only amount of values set on count.
+     *
+     * @param count count of values
+     * @return new iterable result with taked values.
+     */
+    public DoubleIterableResult take(int count) {
+        return IterableResultFactory.getInstanceForDoubleTake(this, count);
+    }
+
+    /**
+     * Count of values on iterable result.
+     *
+     * @return count of values
+     */
+    public int count() {
+        int count = 0;
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            it.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sum of all values.
+     *
+     * @return sum result, zero when empty.
+     */
+    public double sum() {
+        double sum = 0;
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            sum += it.nextDouble();
+        }
+        return sum;
+    }
+
+    /**
+     * Average of all values.
+     *
+     * @return average result, NaN when empty.
+     */
+    public double average() {
+        double sum = 0;
+        int count = 0;
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            sum += it.nextDouble();
+            count++;
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Min value.
+     *
+     * @return min value
+     * @throws NoSuchElementException when empty.
+     */
+    public double min() {
+        PrimitiveIterator.OfDouble it = iterator();
+        double min = it.nextDouble();
+        while (it.hasNext()) {
+            double curr = it.nextDouble();
+            if(curr < min) {
+                min = curr;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Max value.
+     *
+     * @return max value
+     * @throws NoSuchElementException when empty.
+     */
+    public double max() {
+        PrimitiveIterator.OfDouble it = iterator();
+        double max = it.nextDouble();
+        while (it.hasNext()) {
+            double curr = it.nextDouble();
+            if(curr > max) {
+                max = curr;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Reduce method execute the reduceFun function to generate an accumulate result for each value.
+     *
+     * @param reduceFun reduce function
+     * @param acc       initial accumulate value
+     * @return accumulated result
+     */
+    public double reduce(CollectionHelper.FunctionReduceDouble reduceFun, double acc) {
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            acc = reduceFun.reduce(acc, it.nextDouble());
+        }
+        return acc;
+    }
+
+    /**
+     * A simple foreach action.
+     *
+     * @param action action to recover each value
+     */
+    public void foreach(CollectionHelper.ForEachDoubleEntryConsumer action) {
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            action.accept(it.nextDouble());
+        }
+    }
+
+    /**
+     * Check if all values pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when all values pass on test action.
+     */
+    public boolean all(CollectionHelper.CompareDoubleEntryValid action) {
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            if(!action.isValid(it.nextDouble())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if at least one value pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when at least one value pass on test action.
+     */
+    public boolean any(CollectionHelper.CompareDoubleEntryValid action) {
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            if(action.isValid(it.nextDouble())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert current result values to Double objects.
+     * @return new iterable result of boxed values.
+     */
+    public IterableResult<Double> boxed() {
+        return IterableResultFactory.getInstanceForDoubleBoxed(this);
+    }
+
+    @Override
+    public String toString() {
+        return IteratorForJoin.join("[", "]", ", ", this);
+    }
+}
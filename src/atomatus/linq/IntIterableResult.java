@@ -0,0 +1,244 @@
+package atomatus.linq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Generated result of int values from {@link CollectionHelper} or {@link IterableResult},
+ * all actions read elements how primitive int, without boxing them to Integer.
+ *
+ * @author Carlos Matos
+ */
+public abstract class IntIterableResult implements Iterable<Integer> {
+
+    @Override
+    public abstract PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Convert current iterable result to array.
+     *
+     * @return new array within iterable elements.
+     */
+    public int[] toArray() {
+        int[] arr = new int[16];
+        int size = 0;
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            if(size == arr.length) {
+                arr = Arrays.copyOf(arr, size << 1);
+            }
+            arr[size++] = it.nextInt();
+        }
+        return size == arr.length ? arr : Arrays.copyOf(arr, size);
+    }
+
+    /**
+     * Filter values by condition.
+     *
+     * @param where condition to accept value
+     * @return new iterable result with accepted values.
+     */
+    public IntIterableResult filter(CollectionHelper.CompareIntEntryValid where) {
+        return IterableResultFactory.getInstanceForIntFilter(this, where);
+    }
+
+    /**
+     * Mount a new value from each value.
+     *
+     * @param mount function to mount new value
+     * @return new iterable result with mounted values.
+     */
+    public IntIterableResult select(CollectionHelper.FunctionMountInt mount) {
+        return IterableResultFactory.getInstanceForIntSelect(this, mount);
+    }
+
+    /**
+     * How like literally named, "jump" values returning all others values after offset count it.
+     *
+     * @param count count of values will be discarted
+     * @return new iterable result with values after offset count.
+     */
+    public IntIterableResult jump(int count) {
+        return IterableResultFactory.getInstanceForIntJump(this, count);
+    }
+
+    /**
+     * Take only amount of values set on count.
+     *
+     * @param count count of values
+     * @return new iterable result with taked values.
+     */
+    public IntIterableResult take(int count) {
+        return IterableResultFactory.getInstanceForIntTake(this, count);
+    }
+
+    /**
+     * Count of values on iterable result.
+     *
+     * @return count of values
+     */
+    public int count() {
+        int count = 0;
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            it.nextInt();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sum of all values (accumulated how long, avoiding int overflow).
+     *
+     * @return sum result, zero when empty.
+     */
+    public long sum() {
+        long sum = 0;
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+
+    /**
+     * Average of all values.
+     *
+     * @return average result, NaN when empty.
+     */
+    public double average() {
+        long sum = 0;
+        int count = 0;
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            sum += it.nextInt();
+            count++;
+        }
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    /**
+     * Min value.
+     *
+     * @return min value
+     * @throws NoSuchElementException when empty.
+     */
+    public int min() {
+        PrimitiveIterator.OfInt it = iterator();
+        int min = it.nextInt();
+        while (it.hasNext()) {
+            int curr = it.nextInt();
+            if(curr < min) {
+                min = curr;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Max value.
+     *
+     * @return max value
+     * @throws NoSuchElementException when empty.
+     */
+    public int max() {
+        PrimitiveIterator.OfInt it = iterator();
+        int max = it.nextInt();
+        while (it.hasNext()) {
+            int curr = it.nextInt();
+            if(curr > max) {
+                max = curr;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Reduce method execute the reduceFun function to generate an accumulate result for each value.
+     *
+     * @param reduceFun reduce function
+     * @param acc       initial accumulate value
+     * @return accumulated result
+     */
+    public int reduce(CollectionHelper.FunctionReduceInt reduceFun, int acc) {
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            acc = reduceFun.reduce(acc, it.nextInt());
+        }
+        return acc;
+    }
+
+    /**
+     * A simple foreach action.
+     *
+     * @param action action to recover each value
+     */
+    public void foreach(CollectionHelper.ForEachIntEntryConsumer action) {
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            action.accept(it.nextInt());
+        }
+    }
+
+    /**
+     * Check if all values pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when all values pass on test action.
+     */
+    public boolean all(CollectionHelper.CompareIntEntryValid action) {
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            if(!action.isValid(it.nextInt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if at least one value pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when at least one value pass on test action.
+     */
+    public boolean any(CollectionHelper.CompareIntEntryValid action) {
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            if(action.isValid(it.nextInt())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert current result values to long.
+     * @return new iterable result of long values.
+     */
+    public LongIterableResult asLong() {
+        return IterableResultFactory.getInstanceForIntAsLong(this);
+    }
+
+    /**
+     * Convert current result values to double.
+     * @return new iterable result of double values.
+     */
+    public DoubleIterableResult asDouble() {
+        return IterableResultFactory.getInstanceForIntAsDouble(this);
+    }
+
+    /**
+     * Convert current result values to Integer objects.
+     * @return new iterable result of boxed values.
+     */
+    public IterableResult<Integer> boxed() {
+        return IterableResultFactory.getInstanceForIntBoxed(this);
+    }
+
+    @Override
+    public String toString() {
+        return IteratorForJoin.join("[", "]", ", ", this);
+    }
+}
@@ -99,13 +99,13 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
         private final CollectionHelper.FunctionMount<IEntry<K, V>, I> mountFun;
         private final Iterator<Entry<K, IterableResult<V>>> iterator;
 
-        private List<I> readed;
+        private Set<K> readed;
         private IEntry<K, V> e;
 
         LocalIterator( CollectionHelper.FunctionMount<IEntry<K, V>, I> mountFun) {
             this.mountFun   = mountFun;
             this.iterator   = map == null ? null : map.entrySet().iterator();
-            this.readed     = new ArrayList<>();
+            this.readed     = new HashSet<>();
         }
 
         private boolean checkNext(){
@@ -134,14 +134,56 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
             }
 
             I i = mountFun.mount(e);
+            readed.add(e.key);
             e = null;
-            readed.add(i);
             return i;
         }
 
         @Override
         public boolean isValid(IEntry<K, V> e) {
-            return !readed.contains(mountFun.mount(e));
+            return !readed.contains(e.key);
+        }
+    }
+
+    /**
+     * Group each element pushed by source, stopping on first valid entry when not finding all.
+     */
+    private final class GroupSink implements IteratorForPush.Sink<V> {
+
+        private final boolean findAll;
+        private final Map<K, IterableResult<V>> map;
+        private final CollectionHelper.CompareEntryValid<IEntry<K, V>> checkFun;
+        private IEntry<K, V> found;
+
+        GroupSink(boolean findAll,
+                  IEntry<K, V> found,
+                  Map<K, IterableResult<V>> map,
+                  CollectionHelper.CompareEntryValid<IEntry<K, V>> checkFun) {
+            this.findAll    = findAll;
+            this.found      = found;
+            this.map        = map;
+            this.checkFun   = checkFun;
+        }
+
+        @Override
+        public boolean push(V v) {
+            K k = groupFun.mount(v);
+            IterableResult<V> iri = map.get(k);
+            if (iri == null) {
+                iri = new IterableResultInternal<>();
+                map.put(k, iri);
+            } else if(limitCount != NO_LIMIT && ((IterableResultInternal<V>)iri).size() == limitCount) {
+                return true;
+            }
+
+            if(((IterableResultInternal<V>) iri).add(v)) {
+                IEntry<K, V> e = new IEntry<>(k, v, iri);
+                if (checkFun.isValid(e)) {
+                    found = e;
+                    return findAll;
+                }
+            }
+            return true;
         }
     }
 
@@ -212,34 +254,13 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
             iterator = iteratorFun.get();
         }
 
-        V v;
-        K k;
-        IterableResult<V> iri;
-        IEntry<K, V> e;
-        while (hasNext = iterator.hasNext()) {
-            v   = iterator.next();
-            k   = groupFun.mount(v);
-            iri = map.get(k);
-            if (iri == null) {
-                iri = new IterableResultInternal<>();
-                map.put(k, iri);
-            } else if(limitCount != NO_LIMIT && ((IterableResultInternal<V>)iri).size() == limitCount) {
-                continue;
-            }
-
-            if(((IterableResultInternal<V>) iri).add(v)) {
-                e = new IEntry<>(k, v, iri);
-                if (checkFun.isValid(e)) {
-                    found = e;
-                    if (!findAll) {
-                        return found;
-                    }
-                }
-            }
+        //source is pushed until end or until first valid entry (when not finding all).
+        GroupSink sink = new GroupSink(findAll, found, map, checkFun);
+        hasNext = !IteratorForPush.forEachWhile(iterator, sink);
+        if (!hasNext) {
+            iterator = null;
         }
-
-        iterator = null;
-        return found;
+        return sink.found;
     }
 
     private IEntry<K, V> getEntryForOtherGroupFiltered(boolean findAll,
@@ -288,7 +309,7 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
             //region find on current map
             IEntry<K, V> found = IEntry.notFound();
             if(map == null){
-                map = new HashMap<>(); //first getEntry request.
+                map = new LinkedHashMap<>(); //first getEntry request.
             } else if(readMap) {
                 IEntry<K, V> e;
                 for (Entry<K, IterableResult<V>> entry : map.entrySet()) {
@@ -329,7 +350,7 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
                 }
             }
             else if(map == null){
-                map = new HashMap<>(); //first getEntry request.
+                map = new LinkedHashMap<>(); //first getEntry request.
             }
             //endregion
 
@@ -380,7 +401,12 @@ final class IterableMapForFunctionGet<K, V> implements IterableMap<K, IterableRe
 
     @Override
     public boolean containsKey(Object key) {
-        return getEntry(entry -> Objects.equals(key, entry.key)).found;
+        synchronized (locker) {
+            if(map != null && map.containsKey(key)) {
+                return true;
+            }
+        }
+        return getEntry(false, false, entry -> Objects.equals(key, entry.key)).found;
     }
 
     @Override
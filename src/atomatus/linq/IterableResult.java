@@ -4,9 +4,16 @@ import atomatus.util.DateHelper;
 import atomatus.util.DecimalHelper;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Generated result from collection, set or array interation or filter using {@link CollectionHelper}
@@ -18,6 +25,7 @@ import java.util.Set;
 public abstract class IterableResult<E> implements Iterable<E> {
 
     private int count = -1;
+    private boolean parallel;
 
     /**
      * Convert current iterable result to array.
@@ -76,12 +84,229 @@ public abstract class IterableResult<E> implements Iterable<E> {
         return CollectionHelper.groupBy(this, groupFun);
     }
 
+    /**
+     * Group elements by groupFun key result, folding each element into group aggregate on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param groupFun   group function to get grouping key.
+     * @param aggregator aggregator applied on each group, as {@link Aggregator#sum(CollectionHelper.FunctionMount)}.
+     * @param <K>        key type
+     * @param <R>        aggregate result type
+     * @return an instance of iterable result map within aggregate result of each key.
+     */
+    public <K, R> IterableResultMap<K, R> groupBy(CollectionHelper.FunctionMount<E, K> groupFun,
+                                                  Aggregator<E, ?, R> aggregator) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Aggregator<E, ?, ?>[] aggregators = new Aggregator[]{Objects.requireNonNull(aggregator)};
+        return IterableResultFactory.getInstanceForAggregate(() ->
+                IteratorForAggregate.finish(aggregate(groupFun, aggregators), aggregator));
+    }
+
+    /**
+     * Group elements by groupFun key result, folding each element into aggregates of group on a single pass
+     * (elements are not kept on groups).
+     *
+     * @param groupFun    group function to get grouping key.
+     * @param aggregators aggregators applied on each group.
+     * @param <K>         key type
+     * @return an instance of iterable result map within aggregate results of each key,
+     * read by {@link Aggregator.Results#get(Aggregator)}.
+     */
+    @SafeVarargs
+    public final <K> IterableResultMap<K, Aggregator.Results> groupByAll(CollectionHelper.FunctionMount<E, K> groupFun,
+                                                                         Aggregator<E, ?, ?>... aggregators) {
+        IteratorForAggregate.requireAggregators(aggregators);
+        return IterableResultFactory.getInstanceForAggregate(() ->
+                IteratorForAggregate.finish(aggregate(groupFun, aggregators), aggregators));
+    }
+
+    /**
+     * Generate an iterable result grouping elements by groupfun key result under a memory budget,
+     * when budget is exceeded elements are hashed by key out to temporary files and grouped by partition.
+     * After {@link IterableResultGroup#invalidate()} next request groups source again, spill files of previous grouping
+     * are deleted once results recovered from it are unreachable.
+     *
+     * @param groupFun group function to get grouping key (it is applied again to elements read from spill files).
+     * @param spill    spill policy, as {@link Spill#of(int)}.
+     * @param <K>      key type
+     * @return an instance of iterable result group whithin set values grouped by key.
+     */
+    public <K> IterableResultGroup<K, E> groupBy(CollectionHelper.FunctionMount<E, K> groupFun,
+                                                 Spill<? super E> spill) {
+        return IterableResultFactory.getInstanceForGroupEntries(IteratorForSpill.groupBy(this, groupFun, spill));
+    }
+
+    <K> Map<K, Object[]> aggregate(CollectionHelper.FunctionMount<E, K> groupFun, Aggregator<E, ?, ?>[] aggregators) {
+        return IteratorForAggregate.accumulate(iterator(), groupFun, aggregators);
+    }
+
     /**
      * Generate an iterable result grouping elements by equals objects.
      * @return an instance of iterable result group whithin set values grouped by equals objects.
      */
     public IterableResultGroup<E, E> group() {
-        return CollectionHelper.groupBy(this, e -> e);
+        return groupBy(e -> e);
+    }
+
+    /**
+     * Order elements by ascending key (stable, equal elements keep source order).
+     *
+     * @param keyFun function to get Comparable key of element
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public <C extends Comparable<C>> IterableResultOrdered<E> orderBy(CollectionHelper.FunctionMount<E, C> keyFun) {
+        return CollectionHelper.orderBy(this, keyFun);
+    }
+
+    /**
+     * Order elements by descending key (stable, equal elements keep source order).
+     *
+     * @param keyFun function to get Comparable key of element
+     * @param <C>    key type
+     * @return new ordered iterable result.
+     */
+    public <C extends Comparable<C>> IterableResultOrdered<E> orderByDescending(CollectionHelper.FunctionMount<E, C> keyFun) {
+        return CollectionHelper.orderByDescending(this, keyFun);
+    }
+
+    /**
+     * Order elements by comparator (stable, equal elements keep source order).
+     *
+     * @param comparator element comparator
+     * @return new ordered iterable result.
+     */
+    public IterableResultOrdered<E> orderWith(Comparator<? super E> comparator) {
+        return CollectionHelper.orderWith(this, comparator);
+    }
+
+    /**
+     * Join elements with inner elements of equal key (hash join), generating an element for each pair.
+     * Smaller side (inner when sizes are unknown) is indexed by key, other side is streamed
+     * and generated elements follow its order. Null keys never match.
+     *
+     * @param inner     inner elements
+     * @param outerKey  function to get key of current elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> join(Iterable<I> inner,
+                                            CollectionHelper.FunctionMount<E, K> outerKey,
+                                            CollectionHelper.FunctionMount<I, K> innerKey,
+                                            CollectionHelper.FunctionJoin<E, I, R> resultFun) {
+        return CollectionHelper.join(this, inner, outerKey, innerKey, resultFun);
+    }
+
+    /**
+     * Join elements with inner elements of equal key (hash join), generating an element for each pair
+     * and for each element without match (paired with null inner).
+     *
+     * @param inner     inner elements
+     * @param outerKey  function to get key of current elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each joined pair
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> leftJoin(Iterable<I> inner,
+                                                CollectionHelper.FunctionMount<E, K> outerKey,
+                                                CollectionHelper.FunctionMount<I, K> innerKey,
+                                                CollectionHelper.FunctionJoin<E, I, R> resultFun) {
+        return CollectionHelper.leftJoin(this, inner, outerKey, innerKey, resultFun);
+    }
+
+    /**
+     * Join each element with group of inner elements of equal key (empty when there is none),
+     * inner elements are indexed by key and current elements streamed.
+     *
+     * @param inner     inner elements
+     * @param outerKey  function to get key of current elements
+     * @param innerKey  function to get key of inner elements
+     * @param resultFun function to mount element from each element and its inner group
+     * @param <I>       inner element type
+     * @param <K>       key type
+     * @param <R>       generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> groupJoin(Iterable<I> inner,
+                                                 CollectionHelper.FunctionMount<E, K> outerKey,
+                                                 CollectionHelper.FunctionMount<I, K> innerKey,
+                                                 CollectionHelper.FunctionJoin<E, IterableResult<I>, R> resultFun) {
+        return CollectionHelper.groupJoin(this, inner, outerKey, innerKey, resultFun);
+    }
+
+    /**
+     * Join elements with inner elements of equal key, both sides already ordered by key (merge join).
+     * Sides are streamed together keeping in memory only inner elements of current key,
+     * a side out of key order throws IllegalStateException when reached. Null keys never match.
+     *
+     * @param inner      inner elements ordered by key
+     * @param outerKey   function to get key of current elements
+     * @param innerKey   function to get key of inner elements
+     * @param comparator key comparator, of both sides order
+     * @param resultFun  function to mount element from each joined pair
+     * @param <I>        inner element type
+     * @param <K>        key type
+     * @param <R>        generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> mergeJoin(Iterable<I> inner,
+                                                 CollectionHelper.FunctionMount<E, K> outerKey,
+                                                 CollectionHelper.FunctionMount<I, K> innerKey,
+                                                 Comparator<? super K> comparator,
+                                                 CollectionHelper.FunctionJoin<E, I, R> resultFun) {
+        return IteratorForMergeJoin.join(this, inner, outerKey, innerKey, comparator, resultFun, false, false);
+    }
+
+    /**
+     * Join elements with inner elements of equal key, both sides already ordered by key (merge join),
+     * generating an element for each pair and for each element without match (paired with null inner).
+     *
+     * @param inner      inner elements ordered by key
+     * @param outerKey   function to get key of current elements
+     * @param innerKey   function to get key of inner elements
+     * @param comparator key comparator, of both sides order
+     * @param resultFun  function to mount element from each joined pair
+     * @param <I>        inner element type
+     * @param <K>        key type
+     * @param <R>        generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> leftMergeJoin(Iterable<I> inner,
+                                                     CollectionHelper.FunctionMount<E, K> outerKey,
+                                                     CollectionHelper.FunctionMount<I, K> innerKey,
+                                                     Comparator<? super K> comparator,
+                                                     CollectionHelper.FunctionJoin<E, I, R> resultFun) {
+        return IteratorForMergeJoin.join(this, inner, outerKey, innerKey, comparator, resultFun, true, false);
+    }
+
+    /**
+     * Join elements with inner elements of equal key, both sides already ordered by key (merge join),
+     * generating an element for each pair and for each element of any side without match
+     * (paired with null on other side).
+     *
+     * @param inner      inner elements ordered by key
+     * @param outerKey   function to get key of current elements
+     * @param innerKey   function to get key of inner elements
+     * @param comparator key comparator, of both sides order
+     * @param resultFun  function to mount element from each joined pair
+     * @param <I>        inner element type
+     * @param <K>        key type
+     * @param <R>        generated element type
+     * @return new iterable result of joined elements.
+     */
+    public <I, K, R> IterableResult<R> fullMergeJoin(Iterable<I> inner,
+                                                     CollectionHelper.FunctionMount<E, K> outerKey,
+                                                     CollectionHelper.FunctionMount<I, K> innerKey,
+                                                     Comparator<? super K> comparator,
+                                                     CollectionHelper.FunctionJoin<E, I, R> resultFun) {
+        return IteratorForMergeJoin.join(this, inner, outerKey, innerKey, comparator, resultFun, true, true);
     }
 
     /**
@@ -95,6 +320,36 @@ public abstract class IterableResult<E> implements Iterable<E> {
         return CollectionHelper.select(this, mount);
     }
 
+    /**
+     * Mount a int value from each element, without boxing it.
+     *
+     * @param mount function to mount int value
+     * @return new iterable result of int values.
+     */
+    public IntIterableResult mapToInt(CollectionHelper.FunctionMountToInt<E> mount) {
+        return CollectionHelper.mapToInt(this, mount);
+    }
+
+    /**
+     * Mount a long value from each element, without boxing it.
+     *
+     * @param mount function to mount long value
+     * @return new iterable result of long values.
+     */
+    public LongIterableResult mapToLong(CollectionHelper.FunctionMountToLong<E> mount) {
+        return CollectionHelper.mapToLong(this, mount);
+    }
+
+    /**
+     * Mount a double value from each element, without boxing it.
+     *
+     * @param mount function to mount double value
+     * @return new iterable result of double values.
+     */
+    public DoubleIterableResult mapToDouble(CollectionHelper.FunctionMountToDouble<E> mount) {
+        return CollectionHelper.mapToDouble(this, mount);
+    }
+
     /**
      * Union of two or more collections.
      *
@@ -146,6 +401,53 @@ public abstract class IterableResult<E> implements Iterable<E> {
         return intersection(arr);
     }
 
+    /**
+     * Difference of collections, elements of this collection
+     * not contained in any other, without duplicated elements.
+     *
+     * @param args one or more iterable.
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public final IterableResult<E> except(Iterable<? extends E>... args) {
+        return IterableResultFactory.getInstanceForExcept(this, args);
+    }
+
+    /**
+     * Difference of collections, elements of this collection
+     * not contained in any other, without duplicated elements.
+     *
+     * @param arg  array whitin elements to remove.
+     * @param args others arrays whitin elements to remove.
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public final IterableResult<E> except(E[] arg, E[]... args) {
+        return IterableResultFactory.getInstanceForExceptArray(this, arg, args);
+    }
+
+    /**
+     * Union of two or more collections without duplicated elements.
+     *
+     * @param args one or more iterable.
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public final IterableResult<E> union(Iterable<? extends E>... args) {
+        return merge(args).distinct();
+    }
+
+    /**
+     * Union of two or more collections without duplicated elements.
+     *
+     * @param args one or more arrays.
+     * @return new iterable result.
+     */
+    @SafeVarargs
+    public final IterableResult<E> union(E[]... args) {
+        return merge(args).distinct();
+    }
+
     /**
      * Reduce method execute the reduceFun function to generate an accumulate result for each element on collection.
      *
@@ -170,6 +472,24 @@ public abstract class IterableResult<E> implements Iterable<E> {
         return CollectionHelper.reduce(this, reduceFun);
     }
 
+    /**
+     * Reduce method execute the reduceFun function to generate an accumulate result for each element on collection.
+     * On parallel mode each part of collection is reduced from acc and partial results are merged by combiner.
+     * On sequential mode (or when result can not be split in parts) all elements are reduced on a single accumulate
+     * and combiner is never called, then result is the same of {@link #reduce(CollectionHelper.FunctionReduce, Object)}.
+     *
+     * @param reduceFun reduce function
+     * @param combiner  function to merge two partial accumulate results, required even when it is not called.
+     * @param acc       initial accumulate value of each part, maybe null. When null first value of part is the first accumulate.
+     * @param <OUT>     accumulate type, indicate same IN type when accumulate start null.
+     * @return final accumulate result.
+     */
+    public <OUT> OUT reduce(CollectionHelper.FunctionReduce<E, OUT> reduceFun,
+                            CollectionHelper.FunctionReduce<OUT, OUT> combiner, OUT acc) {
+        Objects.requireNonNull(combiner);
+        return CollectionHelper.reduce(this, reduceFun, acc);
+    }
+
     /**
      * Apply summation operation in a sequence of any kind of number.
      *
@@ -189,7 +509,7 @@ public abstract class IterableResult<E> implements Iterable<E> {
      */
     @SuppressWarnings("unchecked")
     public <OUT extends Number> OUT sum() {
-        return CollectionHelper.sum(this, e -> (OUT) e);
+        return sum(e -> (OUT) e);
     }
 
     /**
@@ -259,7 +579,8 @@ public abstract class IterableResult<E> implements Iterable<E> {
      */
     @SuppressWarnings("unchecked")
     public <OUT extends Comparable<OUT>> OUT min() {
-        return CollectionHelper.min(this, e -> (OUT) e);
+        return IterableResultPlan.isSortedBy(this, Comparator.naturalOrder()) ?
+                (OUT) IterableResultPlan.first(this) : min(e -> (OUT) e);
     }
 
     /**
@@ -281,7 +602,8 @@ public abstract class IterableResult<E> implements Iterable<E> {
      */
     @SuppressWarnings("unchecked")
     public <OUT extends Comparable<OUT>> OUT max() {
-        return CollectionHelper.max(this, e -> (OUT) e);
+        return IterableResultPlan.isSortedBy(this, Comparator.reverseOrder()) ?
+                (OUT) IterableResultPlan.first(this) : max(e -> (OUT) e);
     }
 
     /**
@@ -304,6 +626,30 @@ public abstract class IterableResult<E> implements Iterable<E> {
         return CollectionHelper.distinct(this);
     }
 
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @param mount function to mount output distinct value
+     * @param <OUT> output type
+     * @return new iterable result with distinct elements.
+     */
+    public <OUT> IterableResult<OUT> distinctComparable(CollectionHelper.FunctionMount<E, OUT> mount) {
+        return CollectionHelper.distinctComparable(this, mount);
+    }
+
+    /**
+     * Recover distinct (non duplicated) element of collection,
+     * comparable elements are checked as duplicated by {@link Comparable#compareTo(Object)},
+     * otherwise by equals.
+     *
+     * @return new iterable result with distinct elements.
+     */
+    public IterableResult<E> distinctComparable() {
+        return CollectionHelper.distinctComparable(this);
+    }
+
     /**
      * How like literally named, "jump" elements on collection
      * returning all others elements after offset count it.
@@ -478,6 +824,103 @@ public abstract class IterableResult<E> implements Iterable<E> {
                 DateHelper.getInstance()::parseDate);
     }
 
+    /**
+     * Set terminal actions (count, sum, min, max, reduce with combiner, toList and groupBy) to execute
+     * on parallel, splitting elements into ranges on common ForkJoinPool. Only array or random access list
+     * sources (and filter or select of them) are splitted, any other keep running sequential.
+     *
+     * @return current iterable result
+     */
+    public IterableResult<E> parallel() {
+        return parallel(true);
+    }
+
+    /**
+     * Set terminal actions to execute sequential on current thread.
+     *
+     * @return current iterable result
+     */
+    public IterableResult<E> sequential() {
+        return parallel(false);
+    }
+
+    /**
+     * Check if terminal actions are set to execute on parallel.
+     *
+     * @return true when parallel mode is set.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    IterableResult<E> parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Spliterator characteristics known for current result elements (ORDERED, SIZED, DISTINCT, NONNULL...).
+     *
+     * @return characteristics flags, zero when unknown.
+     */
+    int characteristics() {
+        return 0;
+    }
+
+    /**
+     * Comparator of elements order when characteristics has SORTED.
+     *
+     * @return sort comparator, null when sorted by natural order.
+     */
+    Comparator<? super E> comparator() {
+        return null;
+    }
+
+    /**
+     * Characteristics reported to spliterators and streams, SORTED only when sorted by natural order
+     * (spliterator comparator is always natural order).
+     */
+    private int spliteratorCharacteristics() {
+        int characteristics = characteristics();
+        return comparator() == null ? characteristics : characteristics & ~Spliterator.SORTED;
+    }
+
+    /**
+     * Count of elements, exact when characteristics has SIZED,
+     * otherwise an upper bound or Long.MAX_VALUE when unknown.
+     *
+     * @return estimate size
+     */
+    long estimateSize() {
+        return IterableResultPlan.UNKNOWN_SIZE;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        int characteristics = spliteratorCharacteristics();
+        return (characteristics & Spliterator.SIZED) != 0 ?
+                Spliterators.spliterator(iterator(), estimateSize(), characteristics) :
+                Spliterators.spliteratorUnknownSize(iterator(), characteristics);
+    }
+
+    /**
+     * Sequential stream of current result elements, parallel when parallel mode is set.
+     *
+     * @return new stream
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(this::spliterator, spliteratorCharacteristics(), isParallel());
+    }
+
+    /**
+     * Parallel stream of current result elements.
+     *
+     * @return new parallel stream
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(this::spliterator, spliteratorCharacteristics(), true);
+    }
+
     @Override
     public String toString() {
         return IteratorForJoin.join("[", "]", ", ", this);
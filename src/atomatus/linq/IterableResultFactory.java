@@ -1,27 +1,37 @@
 package atomatus.linq;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
 
 final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForFilter(CollectionHelper.FunctionGet<Iterator<I>> iteratorFun,
                                                       CollectionHelper.CompareEntryValid<I> where) {
-        return new IterableResult<I>() {
-            @Override
-            public Iterator<I> iterator() {
-                return new IteratorForFilter<>(iteratorFun, where);
-            }
-        };
+        return new IterableResultPlan.Filter<>(iteratorFun, where, null);
+    }
+
+    static <I> IterableResult<I> getInstanceForFilterIterable(Iterable<I> col, CollectionHelper.CompareEntryValid<I> where) {
+        return new IterableResultPlan.Filter<>(col::iterator, where, col);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I> IterableResult<I> getInstanceForNonNullIterable(Iterable<I> col) {
+        return col instanceof IterableResult && IterableResultPlan.hasCharacteristics(col, Spliterator.NONNULL) ?
+                (IterableResult<I>) col : getInstanceForFilterIterable(col, Objects::nonNull);
     }
 
     static <I> IterableResult<I> getInstanceForFilterArray(I[] arr, CollectionHelper.CompareEntryValid<I> where) {
-        return new IterableResult<I>() {
-            @Override
-            public Iterator<I> iterator() {
-                return new IteratorForFilterArray<>(arr, where);
-            }
-        };
+        return new IterableResultPlan.FilterArrayRange<>(arr, where);
+    }
+
+    static <I> IterableResult<I> getInstanceForFilterList(List<I> list, CollectionHelper.CompareEntryValid<I> where) {
+        return new IterableResultPlan.FilterRange<>(new IterableResultPlan.ListRange<I, I>(list, null), where);
     }
 
     static <I, E, C, S extends Collection<? extends I>> IterableResult<E> getInstanceForFilterAsClassType(Class<C> classType,
@@ -47,38 +57,65 @@ final class IterableResultFactory {
         };
     }
 
-    static <K, V> IterableResultGroup<K, V> getInstanceForGroupArray(V[] arr,
-                                                                     CollectionHelper.FunctionMount<V, K> groupFun) {
+    static <K, V> IterableResultGroup<K, V> getInstanceForGroupEntries(
+            CollectionHelper.FunctionGet<Iterable<Map.Entry<K, IterableResult<V>>>> entriesFun) {
         return new IterableResultGroup<K, V>() {
             @Override
             protected IterableResultGroup.IteratorGroup<K, V> initIterator() {
-                return new IteratorForGroup<>(arr, groupFun);
+                return new IteratorForGroup<>(entriesFun, IterableMapForFunctionGet.NO_LIMIT);
             }
         };
     }
 
-    static <IN, OUT> IterableResult<OUT> getInstanceForSelect(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun,
-                                                              CollectionHelper.FunctionMount<IN, OUT> mount) {
-        return new IterableResult<OUT>() {
+    static <K, R> IterableResultMap<K, R> getInstanceForAggregate(
+            CollectionHelper.FunctionGet<Iterable<Map.Entry<K, R>>> entriesFun) {
+        return new IterableResultMap<K, R>() {
             @Override
-            public Iterator<OUT> iterator() {
-                return new IteratorForSelect<>(iteratorFun, mount);
+            protected IterableResultMap.IteratorMap<K, R> initIterator() {
+                return IteratorForMap.getInstanceForLazyReadOnlyMap(() -> entriesFun.get().iterator(), e -> e);
             }
         };
     }
 
-    static <IN, OUT> IterableResult<OUT> getInstanceForSelectArray(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount) {
-        return new IterableResult<OUT>() {
+    static <K, V> IterableResultGroup<K, V> getInstanceForGroupArray(V[] arr,
+                                                                     CollectionHelper.FunctionMount<V, K> groupFun) {
+        return new IterableResultGroup<K, V>() {
             @Override
-            public Iterator<OUT> iterator() {
-                return new IteratorForSelectArray<>(arr, mount);
+            protected IterableResultGroup.IteratorGroup<K, V> initIterator() {
+                return new IteratorForGroup<>(arr, groupFun);
             }
         };
     }
 
+    static <IN, OUT> IterableResult<OUT> getInstanceForSelect(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun,
+                                                              CollectionHelper.FunctionMount<IN, OUT> mount) {
+        return new IterableResultPlan.Select<>(iteratorFun, mount, null);
+    }
+
+    static <IN, OUT> IterableResult<OUT> getInstanceForSelectIterable(Iterable<IN> col, CollectionHelper.FunctionMount<IN, OUT> mount) {
+        return new IterableResultPlan.Select<>(col::iterator, mount, col);
+    }
+
+    static <IN, OUT> IterableResult<OUT> getInstanceForSelectArray(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount) {
+        return new IterableResultPlan.ArrayRange<>(arr, mount);
+    }
+
+    static <IN, OUT> IterableResult<OUT> getInstanceForSelectList(List<IN> list, CollectionHelper.FunctionMount<IN, OUT> mount) {
+        return new IterableResultPlan.ListRange<>(list, Objects.requireNonNull(mount));
+    }
 
     static <I> IterableResult<I> getInstanceForMerge(Iterable<I> curr, Iterable<? extends I>[] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return IterableResultPlan.isSized(curr) && IterableResultPlan.isSized(args) ? Spliterator.SIZED : 0;
+            }
+
+            @Override
+            long estimateSize() {
+                return IterableResultPlan.sizeOf(IterableResultPlan.sizeOf(curr), args);
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForMerge<>(curr, args);
@@ -88,6 +125,16 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForMerge(Iterable<? extends I>[] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return IterableResultPlan.isSized(args) ? Spliterator.SIZED : 0;
+            }
+
+            @Override
+            long estimateSize() {
+                return IterableResultPlan.sizeOf(0, args);
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForMerge<>(args);
@@ -97,6 +144,16 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForMerge(I[] arr, Iterable<? extends I>[] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return IterableResultPlan.isSized(args) ? Spliterator.SIZED : 0;
+            }
+
+            @Override
+            long estimateSize() {
+                return IterableResultPlan.sizeOf(arr.length, args);
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForMerge<>(arr, args);
@@ -106,6 +163,16 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForMergeArray(I[][] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.SIZED;
+            }
+
+            @Override
+            long estimateSize() {
+                return IterableResultPlan.sizeOf(0, args);
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForMergeArray<>(args);
@@ -115,6 +182,16 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForMergeArray(Iterable<I> iterable, I[][] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return IterableResultPlan.isSized(iterable) ? Spliterator.SIZED : 0;
+            }
+
+            @Override
+            long estimateSize() {
+                return IterableResultPlan.sizeOf(IterableResultPlan.sizeOf(iterable), args);
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForMergeArray<>(iterable, args);
@@ -124,6 +201,11 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForIntersection(Iterable<I>[] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.NONNULL;
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForIntersection<>(args);
@@ -133,6 +215,11 @@ final class IterableResultFactory {
 
     static <I> IterableResult<I> getInstanceForIntersectionArray(I[][] args) {
         return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.NONNULL;
+            }
+
             @Override
             public Iterator<I> iterator() {
                 return new IteratorForIntersectionArray<>(args);
@@ -140,40 +227,361 @@ final class IterableResultFactory {
         };
     }
 
+    static <I> IterableResult<I> getInstanceForExcept(Iterable<I> curr, Iterable<? extends I>[] args) {
+        return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Iterator<I> iterator() {
+                return new IteratorForExcept<>(curr, () -> IteratorForExcept.lookupOf(args));
+            }
+        };
+    }
+
+    static <I> IterableResult<I> getInstanceForExcept(I[] arr, Iterable<? extends I>[] args) {
+        return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Iterator<I> iterator() {
+                return new IteratorForExcept<>(arr, () -> IteratorForExcept.lookupOf(args));
+            }
+        };
+    }
+
+    static <I> IterableResult<I> getInstanceForExceptArray(Iterable<I> curr, I[] arg, I[][] args) {
+        Objects.requireNonNull(arg);
+        Objects.requireNonNull(args);
+        return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Iterator<I> iterator() {
+                return new IteratorForExcept<>(curr, () -> IteratorForExcept.lookupOf(arg, args));
+            }
+        };
+    }
+
+    static <I> IterableResult<I> getInstanceForExceptArray(I[] arr, I[] arg, I[][] args) {
+        Objects.requireNonNull(arg);
+        Objects.requireNonNull(args);
+        return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Iterator<I> iterator() {
+                return new IteratorForExcept<>(arr, () -> IteratorForExcept.lookupOf(arg, args));
+            }
+        };
+    }
 
     static <IN, OUT> IterableResult<OUT> getInstanceForDistinct(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun,
-                                                                CollectionHelper.FunctionMount<IN, OUT> mount) {
+                                                                CollectionHelper.FunctionMount<IN, OUT> mount,
+                                                                boolean comparable) {
         return new IterableResult<OUT>() {
+            @Override
+            int characteristics() {
+                return comparable ? 0 : Spliterator.DISTINCT;
+            }
+
             @Override
             public Iterator<OUT> iterator() {
-                return new IteratorForDistinct<>(iteratorFun, mount);
+                return new IteratorForDistinct<>(iteratorFun, mount, comparable);
+            }
+        };
+    }
+
+    /**
+     * Distinct elements of source, source itself when already distinct
+     * or comparing only adjacent elements when sorted.
+     */
+    @SuppressWarnings("unchecked")
+    static <I> IterableResult<I> getInstanceForDistinctIterable(Iterable<I> col) {
+        if (col instanceof IterableResult && IterableResultPlan.hasCharacteristics(col, Spliterator.DISTINCT)) {
+            return (IterableResult<I>) col;
+        } else if (!IterableResultPlan.hasCharacteristics(col, Spliterator.SORTED)) {
+            return getInstanceForDistinct(col::iterator, i -> i, false);
+        }
+
+        Comparator<? super I> comparator = IterableResultPlan.comparatorOf(col);
+        return new IterableResult<I>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT | (IterableResultPlan.characteristicsOf(col) &
+                        (Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL));
+            }
+
+            @Override
+            Comparator<? super I> comparator() {
+                return comparator;
+            }
+
+            @Override
+            public Iterator<I> iterator() {
+                return new IteratorForDistinctSorted<>(col.iterator(), comparator);
             }
         };
     }
 
-    static <IN, OUT> IterableResult<OUT> getInstanceForDistinctArray(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount) {
+    static <IN, OUT> IterableResult<OUT> getInstanceForDistinctArray(IN[] arr,
+                                                                     CollectionHelper.FunctionMount<IN, OUT> mount,
+                                                                     boolean comparable) {
         return new IterableResult<OUT>() {
+            @Override
+            int characteristics() {
+                return comparable ? 0 : Spliterator.DISTINCT;
+            }
+
             @Override
             public Iterator<OUT> iterator() {
-                return new IteratorForDistinctArray<>(arr, mount);
+                return new IteratorForDistinctArray<>(arr, mount, comparable);
             }
         };
     }
 
     static <I> IterableResult<I> getInstanceForTake(CollectionHelper.FunctionGet<Iterator<I>> colFun, int count) {
-        return new IterableResult<I>() {
+        return new IterableResultPlan.Slice<>(colFun, 0, IterableResultPlan.checkCount(count), null);
+    }
+
+    static <I> IterableResult<I> getInstanceForTakeIterable(Iterable<I> col, int count) {
+        return new IterableResultPlan.Slice<>(col::iterator, 0, IterableResultPlan.checkCount(count), col);
+    }
+
+    static <I> IterableResult<I> getInstanceForJump(CollectionHelper.FunctionGet<Iterator<I>> colFun, int count) {
+        return new IterableResultPlan.Slice<>(colFun, IterableResultPlan.checkCount(count), IteratorForSlice.NO_LIMIT, null);
+    }
+
+    static <I> IterableResult<I> getInstanceForJumpIterable(Iterable<I> col, int count) {
+        return new IterableResultPlan.Slice<>(col::iterator, IterableResultPlan.checkCount(count), IteratorForSlice.NO_LIMIT, col);
+    }
+
+    static IterableResult<Integer> getInstanceForIntBoxed(IntIterableResult result) {
+        return new IterableResult<Integer>() {
             @Override
-            public Iterator<I> iterator() {
-                return new IteratorForTake<>(colFun, count);
+            public Iterator<Integer> iterator() {
+                return result.iterator();
             }
         };
     }
 
-    static <I> IterableResult<I> getInstanceForJump(CollectionHelper.FunctionGet<Iterator<I>> colFun, int count) {
-        return new IterableResult<I>() {
+    static IntIterableResult getInstanceForIntArray(int[] arr) {
+        return new IntIterableResult() {
             @Override
-            public Iterator<I> iterator() {
-                return new IteratorForJump<>(colFun, count);
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForArray(arr);
+            }
+        };
+    }
+
+    static <E> IntIterableResult getInstanceForMapToInt(CollectionHelper.FunctionGet<Iterator<E>> iteratorFun,
+                                                      CollectionHelper.FunctionMountToInt<E> mount) {
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForMount<>(iteratorFun.get(), mount);
+            }
+        };
+    }
+
+    static IntIterableResult getInstanceForIntFilter(IntIterableResult result, CollectionHelper.CompareIntEntryValid where) {
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForFilter(result.iterator(), where);
+            }
+        };
+    }
+
+    static IntIterableResult getInstanceForIntSelect(IntIterableResult result, CollectionHelper.FunctionMountInt mount) {
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForSelect(result.iterator(), mount);
+            }
+        };
+    }
+
+    static IntIterableResult getInstanceForIntJump(IntIterableResult result, int count) {
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForJump(result.iterator(), count);
+            }
+        };
+    }
+
+    static IntIterableResult getInstanceForIntTake(IntIterableResult result, int count) {
+        return new IntIterableResult() {
+            @Override
+            public PrimitiveIterator.OfInt iterator() {
+                return new IteratorForInt.ForTake(result.iterator(), count);
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForIntAsLong(IntIterableResult result) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForInt(result.iterator());
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForIntAsDouble(IntIterableResult result) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForInt(result.iterator());
+            }
+        };
+    }
+
+    static IterableResult<Long> getInstanceForLongBoxed(LongIterableResult result) {
+        return new IterableResult<Long>() {
+            @Override
+            public Iterator<Long> iterator() {
+                return result.iterator();
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForLongArray(long[] arr) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForArray(arr);
+            }
+        };
+    }
+
+    static <E> LongIterableResult getInstanceForMapToLong(CollectionHelper.FunctionGet<Iterator<E>> iteratorFun,
+                                                      CollectionHelper.FunctionMountToLong<E> mount) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForMount<>(iteratorFun.get(), mount);
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForLongFilter(LongIterableResult result, CollectionHelper.CompareLongEntryValid where) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForFilter(result.iterator(), where);
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForLongSelect(LongIterableResult result, CollectionHelper.FunctionMountLong mount) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForSelect(result.iterator(), mount);
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForLongJump(LongIterableResult result, int count) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForJump(result.iterator(), count);
+            }
+        };
+    }
+
+    static LongIterableResult getInstanceForLongTake(LongIterableResult result, int count) {
+        return new LongIterableResult() {
+            @Override
+            public PrimitiveIterator.OfLong iterator() {
+                return new IteratorForLong.ForTake(result.iterator(), count);
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForLongAsDouble(LongIterableResult result) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForLong(result.iterator());
+            }
+        };
+    }
+
+    static IterableResult<Double> getInstanceForDoubleBoxed(DoubleIterableResult result) {
+        return new IterableResult<Double>() {
+            @Override
+            public Iterator<Double> iterator() {
+                return result.iterator();
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForDoubleArray(double[] arr) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForArray(arr);
+            }
+        };
+    }
+
+    static <E> DoubleIterableResult getInstanceForMapToDouble(CollectionHelper.FunctionGet<Iterator<E>> iteratorFun,
+                                                      CollectionHelper.FunctionMountToDouble<E> mount) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForMount<>(iteratorFun.get(), mount);
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForDoubleFilter(DoubleIterableResult result, CollectionHelper.CompareDoubleEntryValid where) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForFilter(result.iterator(), where);
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForDoubleSelect(DoubleIterableResult result, CollectionHelper.FunctionMountDouble mount) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForSelect(result.iterator(), mount);
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForDoubleJump(DoubleIterableResult result, int count) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForJump(result.iterator(), count);
+            }
+        };
+    }
+
+    static DoubleIterableResult getInstanceForDoubleTake(DoubleIterableResult result, int count) {
+        return new DoubleIterableResult() {
+            @Override
+            public PrimitiveIterator.OfDouble iterator() {
+                return new IteratorForDouble.ForTake(result.iterator(), count);
             }
         };
     }
@@ -43,6 +43,10 @@ public abstract class IterableResultGroup<K, V> extends IterableResultMap<K, Ite
         IterableResult<K> keySet();
 
         IterableResult<IterableResult<V>> values();
+
+        void materialize();
+
+        void invalidate();
     }
 
     protected abstract IteratorGroup<K, V> initIterator();
@@ -53,6 +57,27 @@ public abstract class IterableResultGroup<K, V> extends IterableResultMap<K, Ite
 
     //region IteratorGroup Actions
 
+    /**
+     * Group all elements of source now, otherwise source is grouped on first request.
+     * Source is grouped only once, same groups are shared by
+     * size, sum, average, mean, min, max, keySet, values and get until {@link #invalidate()}.
+     * @return current group
+     */
+    public final IterableResultGroup<K, V> materialize() {
+        getIteratorAsGroup().materialize();
+        return this;
+    }
+
+    /**
+     * Discard grouped elements, so source is grouped again on next request
+     * (use it when source has been changed). Results already recovered keep previous groups.
+     * @return current group
+     */
+    public final IterableResultGroup<K, V> invalidate() {
+        getIteratorAsGroup().invalidate();
+        return this;
+    }
+
     /**
      * Generate an iterable result with the amount of items in each entry.
      *
@@ -3,6 +3,10 @@ package atomatus.linq;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Generated result map from collection, set or array interation or filter using {@link CollectionHelper}
@@ -53,6 +57,35 @@ public abstract class IterableResultMap<K, V> implements Iterable<Map.Entry<K, V
         return getIterator();
     }
 
+    /**
+     * Spliterator over all entries, recovered on request.
+     * @return entries spliterator
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(toSet(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Sequential stream of entries.
+     *
+     * @return new stream
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(this::spliterator,
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED, false);
+    }
+
+    /**
+     * Parallel stream of entries.
+     *
+     * @return new parallel stream
+     */
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(this::spliterator,
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED, true);
+    }
+
     @Override
     public String toString() {
         return this.toMap().toString();
@@ -0,0 +1,228 @@
+package atomatus.linq;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+
+/**
+ * Generated result of elements ordered by keys or comparator (stable, equal elements keep source order),
+ * able to set next ordering criterias by thenBy or thenWith.
+ * Taking first elements (take) keeps only them on a bounded heap, without sort all elements.
+ * Data sets larger than memory are ordered by external merge sort, see {@link #spill(Spill)}.
+ *
+ * @param <E> element type
+ * @author Carlos Matos
+ */
+public final class IterableResultOrdered<E> extends IterableResult<E> {
+
+    /**
+     * Jump and take stage of ordered elements.
+     * @param <E> element type
+     */
+    private static final class Window<E> extends IterableResult<E> {
+
+        private final IterableResultOrdered<E> ordered;
+        private final int skip;
+        private final int limit;
+
+        Window(IterableResultOrdered<E> ordered, int skip, int limit) {
+            this.ordered    = ordered;
+            this.skip       = skip;
+            this.limit      = limit;
+        }
+
+        @Override
+        int characteristics() {
+            return ordered.characteristics();
+        }
+
+        @Override
+        Comparator<? super E> comparator() {
+            return ordered.comparator;
+        }
+
+        @Override
+        long estimateSize() {
+            long size = ordered.estimateSize();
+            long rest = size == IterableResultPlan.UNKNOWN_SIZE ? size : Math.max(0, size - skip);
+            return limit == IteratorForSlice.NO_LIMIT ? rest : Math.min(rest, limit);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            if (limit != IteratorForSlice.NO_LIMIT &&
+                    (ordered.spill == null || (long) skip + limit <= ordered.spill.getBudget())) {
+                return IteratorForOrder.top(ordered.source, ordered.comparator, skip, limit);
+            }
+            return ordered.sort(skip, limit);
+        }
+
+        @Override
+        public IterableResult<E> jump(int count) {
+            return new Window<>(ordered,
+                    IterableResultPlan.sliceSkip(skip, IterableResultPlan.checkCount(count)),
+                    IterableResultPlan.sliceLimit(limit, count, IteratorForSlice.NO_LIMIT));
+        }
+
+        @Override
+        public IterableResult<E> take(int count) {
+            return new Window<>(ordered, skip,
+                    IterableResultPlan.sliceLimit(limit, 0, IterableResultPlan.checkCount(count)));
+        }
+    }
+
+    private final Iterable<E> source;
+    private final Comparator<? super E> comparator;
+    private final Spill<? super E> spill;
+
+    IterableResultOrdered(Iterable<E> source, Comparator<? super E> comparator) {
+        this(source, comparator, null);
+    }
+
+    private IterableResultOrdered(Iterable<E> source, Comparator<? super E> comparator, Spill<? super E> spill) {
+        this.source     = Objects.requireNonNull(source);
+        this.comparator = Objects.requireNonNull(comparator);
+        this.spill      = spill;
+    }
+
+    private Iterator<E> sort(int skip, int limit) {
+        return spill == null ?
+                IteratorForOrder.sort(source, comparator, skip, limit) :
+                IteratorForExternalSort.sort(source, comparator, spill, skip, limit);
+    }
+
+    //region thenBy
+
+    /**
+     * Order elements with equal previous keys by ascending key.
+     *
+     * @param keyFun function to get Comparable key of element
+     * @param <C>    key type
+     * @return new ordered iterable result
+     */
+    public <C extends Comparable<C>> IterableResultOrdered<E> thenBy(CollectionHelper.FunctionMount<E, C> keyFun) {
+        return thenWith(IteratorForOrder.comparing(keyFun, false));
+    }
+
+    /**
+     * Order elements with equal previous keys by descending key.
+     *
+     * @param keyFun function to get Comparable key of element
+     * @param <C>    key type
+     * @return new ordered iterable result
+     */
+    public <C extends Comparable<C>> IterableResultOrdered<E> thenByDescending(CollectionHelper.FunctionMount<E, C> keyFun) {
+        return thenWith(IteratorForOrder.comparing(keyFun, true));
+    }
+
+    /**
+     * Order elements with equal previous keys by comparator.
+     *
+     * @param comparator element comparator
+     * @return new ordered iterable result
+     */
+    public IterableResultOrdered<E> thenWith(Comparator<? super E> comparator) {
+        Objects.requireNonNull(comparator);
+        Comparator<E> c = (e0, e1) -> {
+            int r = this.comparator.compare(e0, e1);
+            return r != 0 ? r : comparator.compare(e0, e1);
+        };
+        return new IterableResultOrdered<>(source, c, spill);
+    }
+    //endregion
+
+    //region spill
+
+    /**
+     * Order elements larger than memory, sorting each budget of elements on a temporary file (sorted run),
+     * then merging runs on demand while iterating. Taking first elements stops merge after them.
+     * Run files are deleted when iteration ends, terminal operations stopping before end (as any) release them too,
+     * iterators read directly and abandoned before end are {@link java.io.Closeable} and should be closed.
+     *
+     * @param spill spill policy, as {@link Spill#of(int)}.
+     * @return new ordered iterable result
+     */
+    public IterableResultOrdered<E> spill(Spill<? super E> spill) {
+        return new IterableResultOrdered<>(source, comparator, Objects.requireNonNull(spill));
+    }
+    //endregion
+
+    //region IterableResult
+    @Override
+    int characteristics() {
+        return Spliterator.ORDERED | Spliterator.SORTED |
+                (IterableResultPlan.characteristicsOf(source) & (Spliterator.DISTINCT | Spliterator.NONNULL)) |
+                (IterableResultPlan.isSized(source) ? Spliterator.SIZED : 0);
+    }
+
+    @Override
+    Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    long estimateSize() {
+        return IterableResultPlan.sizeOf(source);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return sort(0, IteratorForSlice.NO_LIMIT);
+    }
+
+    @Override
+    public IterableResult<E> jump(int count) {
+        return new Window<>(this, IterableResultPlan.checkCount(count), IteratorForSlice.NO_LIMIT);
+    }
+
+    /**
+     * Take only first ordered elements, keeping them on a bounded heap (non sorting all elements),
+     * when spilled and count exceeds budget merge of sorted runs stops after them.
+     *
+     * @param count count of elements
+     * @return new iterable result with taked elements.
+     */
+    @Override
+    public IterableResult<E> take(int count) {
+        return new Window<>(this, 0, IterableResultPlan.checkCount(count));
+    }
+
+    @Override
+    public int count() {
+        return CollectionHelper.count(source);
+    }
+
+    /**
+     * Recover minimum value keeping only first element of natural order on a single pass
+     * over source elements, without sort them.
+     *
+     * @param <OUT> result comparable element
+     * @return minimum value
+     */
+    @Override
+    public <OUT extends Comparable<OUT>> OUT min() {
+        return first(false);
+    }
+
+    /**
+     * Recover maximum value keeping only first element of reverse order on a single pass
+     * over source elements, without sort them.
+     *
+     * @param <OUT> result comparable element
+     * @return maximum value
+     */
+    @Override
+    public <OUT extends Comparable<OUT>> OUT max() {
+        return first(true);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <OUT> OUT first(boolean reverse) {
+        Comparator order = reverse ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator c = Comparator.nullsLast(order);
+        Iterator<E> it = IteratorForOrder.top(source, (Comparator<? super E>) c, 0, 1);
+        return it.hasNext() ? (OUT) it.next() : null;
+    }
+    //endregion
+}
@@ -0,0 +1,529 @@
+package atomatus.linq;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
+
+/**
+ * <p>
+ * Plan stages of iterable results, each stage keep your source and action,
+ * then when a same kind of stage is scheduled over it, both are rewritten to a single stage:
+ * </p>
+ * <ul>
+ *     <li>adjacent filters are fused in a single condition;</li>
+ *     <li>adjacent selects are composed in a single mount function;</li>
+ *     <li>jump and take are collapsed in a single slice;</li>
+ *     <li>slice over array or list sources (non filtered) is an index range of source.</li>
+ * </ul>
+ * Then every element pass by only one iterator for each kind of stage.
+ * <p>
+ * Stages keep known traits of source elements (sorted, distinct, non null) when they preserve them,
+ * then later stages can skip work, as nonNull over non null elements or distinct over distinct elements.
+ * </p>
+ */
+final class IterableResultPlan {
+
+    private IterableResultPlan() { }
+
+    //region size
+    /**
+     * Size of source is not known.
+     */
+    static final long UNKNOWN_SIZE = Long.MAX_VALUE;
+
+    /**
+     * Exact size of source when {@link #isSized(Iterable)}, otherwise an upper bound or {@link #UNKNOWN_SIZE}.
+     */
+    static long sizeOf(Iterable<?> col) {
+        return col == null ? UNKNOWN_SIZE : col instanceof IterableResult ? ((IterableResult<?>) col).estimateSize() :
+                col instanceof Collection ? ((Collection<?>) col).size() : UNKNOWN_SIZE;
+    }
+
+    static boolean isSized(Iterable<?> col) {
+        return col instanceof IterableResult ?
+                (((IterableResult<?>) col).characteristics() & Spliterator.SIZED) != 0 :
+                col instanceof Collection;
+    }
+
+    static long sizeOf(long size, Iterable<?>[] args) {
+        for (Iterable<?> arg : args) {
+            size = sumSize(size, sizeOf(arg));
+        }
+        return size;
+    }
+
+    static long sizeOf(long size, Object[][] args) {
+        for (Object[] arg : args) {
+            size = sumSize(size, arg.length);
+        }
+        return size;
+    }
+
+    static boolean isSized(Iterable<?>[] args) {
+        for (Iterable<?> arg : args) {
+            if(!isSized(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long sumSize(long s0, long s1) {
+        long s = s0 + s1;
+        return s0 == UNKNOWN_SIZE || s1 == UNKNOWN_SIZE || s < 0 ? UNKNOWN_SIZE : s;
+    }
+    //endregion
+
+    //region traits
+    /**
+     * Characteristics of source, from result or from collection kind (list, set or sorted set).
+     */
+    static int characteristicsOf(Iterable<?> col) {
+        if (col instanceof IterableResult) {
+            return ((IterableResult<?>) col).characteristics();
+        } else if (col instanceof SortedSet) {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.SIZED;
+        } else if (col instanceof Set) {
+            return Spliterator.DISTINCT | Spliterator.SIZED;
+        } else if (col instanceof List) {
+            return Spliterator.ORDERED | Spliterator.SIZED;
+        }
+        return col instanceof Collection ? Spliterator.SIZED : 0;
+    }
+
+    static boolean hasCharacteristics(Iterable<?> col, int characteristics) {
+        return (characteristicsOf(col) & characteristics) == characteristics;
+    }
+
+    /**
+     * Comparator of sorted source, null when sorted by natural order or not sorted.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> Comparator<? super E> comparatorOf(Iterable<?> col) {
+        return col instanceof IterableResult ? ((IterableResult<E>) col).comparator() :
+                col instanceof SortedSet ? ((SortedSet<E>) col).comparator() : null;
+    }
+
+    /**
+     * Check if source is sorted by comparator, where natural order is null or {@link Comparator#naturalOrder()}.
+     */
+    static boolean isSortedBy(Iterable<?> col, Comparator<?> comparator) {
+        if (!hasCharacteristics(col, Spliterator.SORTED)) {
+            return false;
+        }
+        Comparator<?> c = comparatorOf(col);
+        return c == comparator || (c == null && comparator == Comparator.naturalOrder());
+    }
+
+    /**
+     * First element of source, null when it is empty.
+     */
+    static <E> E first(Iterable<E> col) {
+        Iterator<E> it = col.iterator();
+        try {
+            return it.hasNext() ? it.next() : null;
+        } finally {
+            IteratorForPush.close(it);
+        }
+    }
+    //endregion
+
+    //region compose
+    static int checkCount(int count) {
+        if(count < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return count;
+    }
+
+    private static <I> CollectionHelper.CompareEntryValid<I> and(CollectionHelper.CompareEntryValid<I> w0,
+                                                                 CollectionHelper.CompareEntryValid<I> w1) {
+        Objects.requireNonNull(w1);
+        return e -> w0.isValid(e) && w1.isValid(e);
+    }
+
+    private static <A, B, C> CollectionHelper.FunctionMount<A, C> compose(CollectionHelper.FunctionMount<A, B> m0,
+                                                                          CollectionHelper.FunctionMount<B, C> m1) {
+        Objects.requireNonNull(m1);
+        return a -> m1.mount(m0.mount(a));
+    }
+
+    static int sliceSkip(int skip, int jump) {
+        int s = skip + jump;
+        return s < 0 ? Integer.MAX_VALUE : s;
+    }
+
+    static int sliceLimit(int limit, int jump, int take) {
+        int l = limit == IteratorForSlice.NO_LIMIT ? limit : Math.max(0, limit - jump);
+        return take == IteratorForSlice.NO_LIMIT ? l : l == IteratorForSlice.NO_LIMIT ? take : Math.min(l, take);
+    }
+    //endregion
+
+    //region sequential stages
+
+    /**
+     * Filter stage over any iterator.
+     * @param <I> element type
+     */
+    static final class Filter<I> extends IterableResult<I> {
+
+        private final CollectionHelper.FunctionGet<Iterator<I>> iteratorFun;
+        private final CollectionHelper.CompareEntryValid<I> where;
+        private final Iterable<?> source;
+
+        Filter(CollectionHelper.FunctionGet<Iterator<I>> iteratorFun, CollectionHelper.CompareEntryValid<I> where,
+               Iterable<?> source) {
+            this.iteratorFun = Objects.requireNonNull(iteratorFun);
+            this.where = Objects.requireNonNull(where);
+            this.source = source;
+        }
+
+        @Override
+        int characteristics() {
+            return (characteristicsOf(source) & (Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT)) |
+                    Spliterator.NONNULL;
+        }
+
+        @Override
+        Comparator<? super I> comparator() {
+            return comparatorOf(source);
+        }
+
+        @Override
+        long estimateSize() {
+            return sizeOf(source);
+        }
+
+        @Override
+        public Iterator<I> iterator() {
+            return new IteratorForFilter<>(iteratorFun, where);
+        }
+
+        @Override
+        public IterableResult<I> filter(CollectionHelper.CompareEntryValid<I> where) {
+            return new Filter<>(iteratorFun, and(this.where, where), source);
+        }
+    }
+
+    /**
+     * Select stage over any iterator.
+     * @param <IN>  input element type
+     * @param <OUT> output element type
+     */
+    static final class Select<IN, OUT> extends IterableResult<OUT> {
+
+        private final CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun;
+        private final CollectionHelper.FunctionMount<IN, OUT> mount;
+        private final Iterable<?> source;
+
+        Select(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun, CollectionHelper.FunctionMount<IN, OUT> mount,
+               Iterable<?> source) {
+            this.iteratorFun = Objects.requireNonNull(iteratorFun);
+            this.mount = Objects.requireNonNull(mount);
+            this.source = source;
+        }
+
+        @Override
+        int characteristics() {
+            return isSized(source) ? Spliterator.SIZED : 0;
+        }
+
+        @Override
+        long estimateSize() {
+            return sizeOf(source);
+        }
+
+        @Override
+        public Iterator<OUT> iterator() {
+            return new IteratorForSelect<>(iteratorFun, mount);
+        }
+
+        @Override
+        public <R> IterableResult<R> select(CollectionHelper.FunctionMount<OUT, R> mount) {
+            return new Select<>(iteratorFun, compose(this.mount, mount), source);
+        }
+    }
+
+    /**
+     * Jump and take stage over any iterator.
+     * @param <I> element type
+     */
+    static final class Slice<I> extends IterableResult<I> {
+
+        private final CollectionHelper.FunctionGet<Iterator<I>> iteratorFun;
+        private final int skip;
+        private final int limit;
+        private final Iterable<?> source;
+
+        Slice(CollectionHelper.FunctionGet<Iterator<I>> iteratorFun, int skip, int limit, Iterable<?> source) {
+            this.iteratorFun = Objects.requireNonNull(iteratorFun);
+            this.skip = skip;
+            this.limit = limit;
+            this.source = source;
+        }
+
+        @Override
+        int characteristics() {
+            return (characteristicsOf(source) &
+                    (Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL)) |
+                    (isSized(source) ? Spliterator.SIZED : 0);
+        }
+
+        @Override
+        Comparator<? super I> comparator() {
+            return comparatorOf(source);
+        }
+
+        @Override
+        long estimateSize() {
+            long size = sizeOf(source);
+            long rest = size == UNKNOWN_SIZE ? UNKNOWN_SIZE : Math.max(0, size - skip);
+            return limit == IteratorForSlice.NO_LIMIT ? rest : Math.min(rest, limit);
+        }
+
+        @Override
+        public Iterator<I> iterator() {
+            return new IteratorForSlice<>(iteratorFun, skip, limit);
+        }
+
+        @Override
+        public IterableResult<I> jump(int count) {
+            return new Slice<>(iteratorFun, sliceSkip(skip, checkCount(count)), sliceLimit(limit, count, IteratorForSlice.NO_LIMIT), source);
+        }
+
+        @Override
+        public IterableResult<I> take(int count) {
+            return new Slice<>(iteratorFun, skip, sliceLimit(limit, 0, checkCount(count)), source);
+        }
+    }
+    //endregion
+
+    //region range stages
+
+    /**
+     * Array source mounting each element.
+     * @param <IN>  array element type
+     * @param <OUT> output element type
+     */
+    static final class ArrayRange<IN, OUT> extends IterableResultRange<OUT> {
+
+        private final IN[] arr;
+        private final CollectionHelper.FunctionMount<IN, OUT> mount;
+
+        ArrayRange(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount) {
+            this.arr = Objects.requireNonNull(arr);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        @Override
+        int length() {
+            return arr.length;
+        }
+
+        @Override
+        Iterator<OUT> iterator(int from, int to) {
+            return new IteratorForSelectArray<>(arr, mount, from, to);
+        }
+
+        @Override
+        <R> IterableResultRange<R> fuseSelect(CollectionHelper.FunctionMount<OUT, R> mount) {
+            return new ArrayRange<>(arr, compose(this.mount, mount));
+        }
+    }
+
+    /**
+     * Array source filtering each element.
+     * @param <I> element type
+     */
+    static final class FilterArrayRange<I> extends IterableResultRange<I> {
+
+        private final I[] arr;
+        private final CollectionHelper.CompareEntryValid<I> where;
+
+        FilterArrayRange(I[] arr, CollectionHelper.CompareEntryValid<I> where) {
+            this.arr = Objects.requireNonNull(arr);
+            this.where = Objects.requireNonNull(where);
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+
+        @Override
+        int length() {
+            return arr.length;
+        }
+
+        @Override
+        Iterator<I> iterator(int from, int to) {
+            return new IteratorForFilterArray<>(arr, where, from, to);
+        }
+
+        @Override
+        IterableResultRange<I> fuseFilter(CollectionHelper.CompareEntryValid<I> where) {
+            return new FilterArrayRange<>(arr, and(this.where, where));
+        }
+    }
+
+    /**
+     * Random access list source, mounting each element when mount function is set.
+     * @param <IN>  list element type
+     * @param <OUT> output element type
+     */
+    static final class ListRange<IN, OUT> extends IterableResultRange<OUT> {
+
+        private final List<IN> list;
+        private final CollectionHelper.FunctionMount<IN, OUT> mount;
+
+        ListRange(List<IN> list, CollectionHelper.FunctionMount<IN, OUT> mount) {
+            this.list = Objects.requireNonNull(list);
+            this.mount = mount;
+        }
+
+        @Override
+        int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        @Override
+        int length() {
+            return list.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Iterator<OUT> iterator(int from, int to) {
+            List<IN> sub = from == 0 && to == list.size() ? list : list.subList(from, to);
+            return mount == null ? (Iterator<OUT>) sub.iterator() : new IteratorForSelect<>(sub::iterator, mount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <R> IterableResultRange<R> fuseSelect(CollectionHelper.FunctionMount<OUT, R> mount) {
+            return new ListRange<>(list, this.mount == null ?
+                    (CollectionHelper.FunctionMount<IN, R>) mount : compose(this.mount, mount));
+        }
+    }
+
+    /**
+     * Filter stage over any range.
+     * @param <I> element type
+     */
+    static final class FilterRange<I> extends IterableResultRange<I> {
+
+        private final IterableResultRange<I> range;
+        private final CollectionHelper.CompareEntryValid<I> where;
+
+        FilterRange(IterableResultRange<I> range, CollectionHelper.CompareEntryValid<I> where) {
+            this.range = Objects.requireNonNull(range);
+            this.where = Objects.requireNonNull(where);
+        }
+
+        @Override
+        int characteristics() {
+            return (range.characteristics() & (Spliterator.ORDERED | Spliterator.DISTINCT)) | Spliterator.NONNULL;
+        }
+
+        @Override
+        int length() {
+            return range.length();
+        }
+
+        @Override
+        Iterator<I> iterator(int from, int to) {
+            return new IteratorForFilter<>(() -> range.iterator(from, to), where);
+        }
+
+        @Override
+        IterableResultRange<I> fuseFilter(CollectionHelper.CompareEntryValid<I> where) {
+            return new FilterRange<>(range, and(this.where, where));
+        }
+    }
+
+    /**
+     * Select stage over any range.
+     * @param <IN>  input element type
+     * @param <OUT> output element type
+     */
+    static final class SelectRange<IN, OUT> extends IterableResultRange<OUT> {
+
+        private final IterableResultRange<IN> range;
+        private final CollectionHelper.FunctionMount<IN, OUT> mount;
+
+        SelectRange(IterableResultRange<IN> range, CollectionHelper.FunctionMount<IN, OUT> mount) {
+            this.range = Objects.requireNonNull(range);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        int characteristics() {
+            return range.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+
+        @Override
+        int length() {
+            return range.length();
+        }
+
+        @Override
+        Iterator<OUT> iterator(int from, int to) {
+            return new IteratorForSelect<>(() -> range.iterator(from, to), mount);
+        }
+
+        @Override
+        <R> IterableResultRange<R> fuseSelect(CollectionHelper.FunctionMount<OUT, R> mount) {
+            return new SelectRange<>(range, compose(this.mount, mount));
+        }
+    }
+
+    /**
+     * Jump and take stage over a sized range, iterating only the index range of source.
+     * @param <I> element type
+     */
+    static final class SliceRange<I> extends IterableResultRange<I> {
+
+        private final IterableResultRange<I> range;
+        private final int skip;
+        private final int limit;
+
+        SliceRange(IterableResultRange<I> range, int skip, int limit) {
+            this.range = Objects.requireNonNull(range);
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        @Override
+        int characteristics() {
+            return range.characteristics();
+        }
+
+        @Override
+        int length() {
+            int length = Math.max(0, range.length() - skip);
+            return limit == IteratorForSlice.NO_LIMIT ? length : Math.min(length, limit);
+        }
+
+        @Override
+        Iterator<I> iterator(int from, int to) {
+            int offset = Math.min(skip, range.length());
+            return range.iterator(from + offset, to + offset);
+        }
+
+        @Override
+        IterableResultRange<I> fuseSlice(int jump, int take) {
+            return new SliceRange<>(range, sliceSkip(skip, jump), sliceLimit(limit, jump, take));
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,201 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Iterable result over an indexed source (array or random access list),
+ * able to iterate any range of source, then splitted on parallel mode.
+ *
+ * @param <E> iterable element type
+ */
+abstract class IterableResultRange<E> extends IterableResult<E> {
+
+    /**
+     * Spliterator over source range, splitting range in halves while not traversed.
+     *
+     * @param <E> element type
+     */
+    static final class RangeSpliterator<E> implements Spliterator<E> {
+
+        private final IterableResultRange<E> range;
+        private final int characteristics;
+        private final int to;
+        private int from;
+        private Iterator<E> iterator;
+
+        RangeSpliterator(IterableResultRange<E> range, int from, int to, int characteristics) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+            this.characteristics = characteristics;
+        }
+
+        private Iterator<E> getIterator() {
+            return iterator == null ? (iterator = range.iterator(from, to)) : iterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            Iterator<E> it = getIterator();
+            if (it.hasNext()) {
+                action.accept(it.next());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            getIterator().forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (from + to) >>> 1;
+            if (iterator != null || mid <= from) {
+                return null;
+            }
+            Spliterator<E> prefix = new RangeSpliterator<>(range, from, mid, characteristics);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    /**
+     * Source length, elements count before any filter.
+     * @return source length
+     */
+    abstract int length();
+
+    /**
+     * Iterate only source elements between from (inclusive) and to (exclusive) index.
+     * @param from start index, inclusive
+     * @param to   end index, exclusive
+     * @return new iterator for range
+     */
+    abstract Iterator<E> iterator(int from, int to);
+
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0, length());
+    }
+
+    @Override
+    int characteristics() {
+        return Spliterator.ORDERED;
+    }
+
+    @Override
+    long estimateSize() {
+        return length();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RangeSpliterator<>(this, 0, length(), characteristics());
+    }
+
+    /**
+     * Sized when each source index is one element (not filtered).
+     */
+    private boolean isSized() {
+        return (characteristics() & Spliterator.SIZED) != 0;
+    }
+
+    IterableResultRange<E> fuseFilter(CollectionHelper.CompareEntryValid<E> where) {
+        return new IterableResultPlan.FilterRange<>(this, where);
+    }
+
+    <OUT> IterableResultRange<OUT> fuseSelect(CollectionHelper.FunctionMount<E, OUT> mount) {
+        return new IterableResultPlan.SelectRange<>(this, mount);
+    }
+
+    IterableResultRange<E> fuseSlice(int jump, int take) {
+        return new IterableResultPlan.SliceRange<>(this, jump, take);
+    }
+
+    @Override
+    public IterableResult<E> filter(CollectionHelper.CompareEntryValid<E> where) {
+        return fuseFilter(where).parallel(isParallel());
+    }
+
+    @Override
+    public <OUT> IterableResult<OUT> select(CollectionHelper.FunctionMount<E, OUT> mount) {
+        return fuseSelect(mount).parallel(isParallel());
+    }
+
+    @Override
+    public IterableResult<E> jump(int count) {
+        return isSized() ?
+                fuseSlice(IterableResultPlan.checkCount(count), IteratorForSlice.NO_LIMIT).parallel(isParallel()) :
+                super.jump(count);
+    }
+
+    @Override
+    public IterableResult<E> take(int count) {
+        return isSized() ?
+                fuseSlice(0, IterableResultPlan.checkCount(count)).parallel(isParallel()) :
+                super.take(count);
+    }
+
+    @Override
+    public <K> IterableResultGroup<K, E> groupBy(CollectionHelper.FunctionMount<E, K> groupFun) {
+        return isParallel() ?
+                IterableResultFactory.getInstanceForGroupEntries(() -> IteratorForParallel.groupBy(this, groupFun)) :
+                super.groupBy(groupFun);
+    }
+
+    @Override
+    <K> Map<K, Object[]> aggregate(CollectionHelper.FunctionMount<E, K> groupFun, Aggregator<E, ?, ?>[] aggregators) {
+        return isParallel() ?
+                IteratorForParallel.aggregate(this, groupFun, aggregators) :
+                super.aggregate(groupFun, aggregators);
+    }
+
+    @Override
+    public List<E> toList() {
+        return isParallel() ? IteratorForParallel.toList(this) : super.toList();
+    }
+
+    @Override
+    public int count() {
+        return isParallel() ? IteratorForParallel.count(this) : super.count();
+    }
+
+    @Override
+    public <OUT> OUT reduce(CollectionHelper.FunctionReduce<E, OUT> reduceFun,
+                            CollectionHelper.FunctionReduce<OUT, OUT> combiner, OUT acc) {
+        return isParallel() ? IteratorForParallel.reduce(this, reduceFun, combiner, acc) : super.reduce(reduceFun, combiner, acc);
+    }
+
+    @Override
+    public <OUT extends Number> OUT sum(CollectionHelper.FunctionMount<E, OUT> fun) {
+        return isParallel() ? IteratorForParallel.sum(this, fun) : super.sum(fun);
+    }
+
+    @Override
+    public <OUT extends Comparable<OUT>> OUT min(CollectionHelper.FunctionMount<E, OUT> fun) {
+        return isParallel() ? IteratorForParallel.min(this, fun) : super.min(fun);
+    }
+
+    @Override
+    public <OUT extends Comparable<OUT>> OUT max(CollectionHelper.FunctionMount<E, OUT> fun) {
+        return isParallel() ? IteratorForParallel.max(this, fun) : super.max(fun);
+    }
+}
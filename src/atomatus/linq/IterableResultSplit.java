@@ -2,53 +2,200 @@ package atomatus.linq;
 
 import java.util.*;
 
-final class IterableResultSplit extends IterableResult<String> implements Iterator<String> {
+/**
+ * Fields of a string split by a separator char. Field ends (offsets) are found on a single scan,
+ * then each field is read by index how a CharSequence view over string (offset and length, non copying chars),
+ * a String is created only when field is requested how String. Offsets never change after scan,
+ * so fields are read by any iterator or thread without lock.
+ */
+final class IterableResultSplit extends IterableResultRange<String> {
 
-    private String str, next;
-    private int index;
-    private boolean done;
-    private final int length;
-    private final char splitter;
-    private final List<String> result;
+    private static final int INITIAL_CAPACITY = 1 << 3;
 
-    public IterableResultSplit(String str, char splitter) {
-        this.str        = Objects.requireNonNull(str);
-        this.length     = str.length();
-        this.splitter   = splitter;
-        this.result     = new ArrayList<>();
+    /**
+     * Field view over string chars.
+     */
+    static final class Field implements CharSequence {
+
+        private final String str;
+        private final int start, end;
+
+        Field(String str, int start, int end) {
+            this.str    = str;
+            this.start  = start;
+            this.end    = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException();
+            }
+            return str.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || start > end || end > this.end - this.start) {
+                throw new IndexOutOfBoundsException();
+            }
+            return new Field(str, this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return str.substring(start, end);
+        }
     }
 
-    private boolean checkNext() {
-        boolean noNext;
-        if ((noNext = next == null) && !done) {
-            for(int i=index;;){
-                if(i == length) {
-                    next = str.substring(index, index = i);
-                    return done = result.add(next);
-                }
-                else if(str.charAt(i++) == splitter) {
-                    next = str.substring(index, (index = i) - 1);
-                    return result.add(next);
-                }
+    private final String str;
+    private final int[] ends;
+    private final int count;
+
+    public IterableResultSplit(String str, char splitter) {
+        this.str = Objects.requireNonNull(str);
+        int[] ends = new int[INITIAL_CAPACITY];
+        int count = 0;
+        for (int from = 0, length = str.length(); ; ) {
+            int i = str.indexOf(splitter, from);
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count << 1);
+            }
+            ends[count++] = i == -1 ? length : i;
+            if (i == -1) {
+                break;
             }
+            from = i + 1;
         }
-        return !noNext;
+        this.ends   = ends;
+        this.count  = count;
     }
 
-    @Override
-    public boolean hasNext() {
-        synchronized (this) {
-            return checkNext();
+    private int start(int index) {
+        return index == 0 ? 0 : ends[index - 1] + 1;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
         }
+        return index;
     }
 
-    @Override
-    public String next() {
-        synchronized (this) {
-            if (checkNext()) {
-                String aux = next;
-                next = null;
-                return aux;
+    //region fields
+
+    /**
+     * Field how String.
+     *
+     * @param index field index
+     * @return new string of field
+     */
+    String get(int index) {
+        return str.substring(start(checkIndex(index)), ends[index]);
+    }
+
+    /**
+     * Field how a view over string chars, non copying them.
+     *
+     * @param index field index
+     * @return field view
+     */
+    CharSequence field(int index) {
+        return new Field(str, start(checkIndex(index)), ends[index]);
+    }
+
+    /**
+     * Views of all fields, see {@link #field(int)}.
+     *
+     * @return new iterable result of field views
+     */
+    IterableResult<CharSequence> fields() {
+        return new IterableResultRange<CharSequence>() {
+            @Override
+            int characteristics() {
+                return IterableResultSplit.this.characteristics();
+            }
+
+            @Override
+            int length() {
+                return count;
+            }
+
+            @Override
+            Iterator<CharSequence> iterator(int from, int to) {
+                return new IteratorForFields<CharSequence>(from, to) {
+                    @Override
+                    CharSequence field(int index) {
+                        return IterableResultSplit.this.field(index);
+                    }
+                };
+            }
+
+            @Override
+            public int count() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Parse field how int, reading field chars (non creating a String).
+     *
+     * @param index field index
+     * @return int value
+     */
+    int getInt(int index) {
+        return IteratorForMath.parseInt(str, start(checkIndex(index)), ends[index]);
+    }
+
+    /**
+     * Parse field how long, reading field chars (non creating a String).
+     *
+     * @param index field index
+     * @return long value
+     */
+    long getLong(int index) {
+        return IteratorForMath.parseLong(str, start(checkIndex(index)), ends[index]);
+    }
+
+    /**
+     * Parse field how double, plain decimals up to 15 digits are read from field chars (non creating a String).
+     *
+     * @param index field index
+     * @return double value
+     */
+    double getDouble(int index) {
+        return IteratorForMath.parseDouble(str, start(checkIndex(index)), ends[index]);
+    }
+    //endregion
+
+    //region IterableResultRange
+    private abstract static class IteratorForFields<E> implements Iterator<E> {
+
+        private final int to;
+        private int index;
+
+        IteratorForFields(int from, int to) {
+            this.index  = from;
+            this.to     = to;
+        }
+
+        abstract E field(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < to;
+        }
+
+        @Override
+        public E next() {
+            if (index < to) {
+                return field(index++);
             } else {
                 throw new NoSuchElementException();
             }
@@ -56,27 +203,28 @@ final class IterableResultSplit extends IterableResult<String> implements Iterat
     }
 
     @Override
-    public Iterator<String> iterator() {
-        synchronized (this) {
-            if(done) {
-                str = next = null;
-                return result.iterator();
-            } else {
-                index = 0;
-                result.clear();
-                return this;
+    int characteristics() {
+        return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+    }
+
+    @Override
+    int length() {
+        return count;
+    }
+
+    @Override
+    Iterator<String> iterator(int from, int to) {
+        return new IteratorForFields<String>(from, to) {
+            @Override
+            String field(int index) {
+                return get(index);
             }
-        }
+        };
     }
 
     @Override
     public int count() {
-        synchronized (this) {
-            if (done) {
-                return result.size();
-            } else {
-                return super.count();
-            }
-        }
+        return count;
     }
+    //endregion
 }
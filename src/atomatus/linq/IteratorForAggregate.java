@@ -0,0 +1,87 @@
+package atomatus.linq;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Group elements by key folding each one into accumulates of aggregators on a single pass,
+ * keeping only one accumulate per aggregator on each group.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class IteratorForAggregate {
+
+    private IteratorForAggregate() { }
+
+    private static Object[] init(Aggregator[] aggregators) {
+        Object[] accs = new Object[aggregators.length];
+        for (int i = 0; i < accs.length; i++) {
+            accs[i] = aggregators[i].init();
+        }
+        return accs;
+    }
+
+    static <A extends Aggregator<?, ?, ?>> A[] requireAggregators(A[] aggregators) {
+        if (Objects.requireNonNull(aggregators).length == 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        for (A a : aggregators) {
+            Objects.requireNonNull(a);
+        }
+        return aggregators;
+    }
+
+    //region accumulate
+    static <K, V> Map<K, Object[]> accumulate(Iterator<V> iterator,
+                                              CollectionHelper.FunctionMount<V, K> groupFun,
+                                              Aggregator<V, ?, ?>[] aggregators) {
+        Objects.requireNonNull(iterator);
+        Objects.requireNonNull(groupFun);
+        Map<K, Object[]> map = new LinkedHashMap<>();
+        IteratorForPush.forEachWhile(iterator, v -> {
+            Object[] accs = map.computeIfAbsent(groupFun.mount(v), k -> init(aggregators));
+            for (int i = 0; i < accs.length; i++) {
+                accs[i] = ((Aggregator) aggregators[i]).accumulate(accs[i], v);
+            }
+            return true;
+        });
+        return map;
+    }
+
+    static Object[] combine(Object[] acc, Object[] curr, Aggregator<?, ?, ?>[] aggregators) {
+        for (int i = 0; i < acc.length; i++) {
+            acc[i] = ((Aggregator) aggregators[i]).combine(acc[i], curr[i]);
+        }
+        return acc;
+    }
+    //endregion
+
+    //region finish
+    static <K, R> Iterable<Map.Entry<K, R>> finish(Map<K, Object[]> map, Aggregator<?, ?, R> aggregator) {
+        List<Map.Entry<K, R>> entries = new ArrayList<>(map.size());
+        for (Map.Entry<K, Object[]> e : map.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(),
+                    ((Aggregator<?, Object, R>) aggregator).finish(e.getValue()[0])));
+        }
+        return entries;
+    }
+
+    static <K> Iterable<Map.Entry<K, Aggregator.Results>> finish(Map<K, Object[]> map, Aggregator<?, ?, ?>[] aggregators) {
+        List<Map.Entry<K, Aggregator.Results>> entries = new ArrayList<>(map.size());
+        for (Map.Entry<K, Object[]> e : map.entrySet()) {
+            Object[] accs = e.getValue();
+            Object[] results = new Object[accs.length];
+            for (int i = 0; i < accs.length; i++) {
+                results[i] = ((Aggregator) aggregators[i]).finish(accs[i]);
+            }
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), new Aggregator.Results(aggregators, results)));
+        }
+        return entries;
+    }
+    //endregion
+}
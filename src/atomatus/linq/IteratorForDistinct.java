@@ -1,52 +1,110 @@
 package atomatus.linq;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
-final class IteratorForDistinct<IN, OUT> implements Iterator<OUT> {
+final class IteratorForDistinct<IN, OUT> implements IteratorForPush.Source<OUT> {
+
+    /**
+     * Set of already emitted elements, by default using equals/hashCode
+     * or, when requested, Comparable.compareTo to check equality.
+     * @param <E> element type
+     */
+    static final class Seen<E> {
+
+        private final Set<Object> hashed;
+        private final Map<Class<?>, Set<Object>> compared;
+
+        Seen(boolean comparable) {
+            this.hashed     = new HashSet<>();
+            this.compared   = comparable ? new HashMap<>() : null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Set<Object> getCompared(Class<?> clazz) {
+            return compared.computeIfAbsent(clazz, c -> new TreeSet<>((a, b) -> ((Comparable) a).compareTo(b)));
+        }
+
+        /**
+         * Register element as emitted.
+         * @param e target element
+         * @return true when element was not emitted before.
+         */
+        boolean add(E e) {
+            return compared != null && e instanceof Comparable<?> ?
+                    getCompared(e.getClass()).add(e) : hashed.add(e);
+        }
+    }
 
     private final CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun;
     private final CollectionHelper.FunctionMount<IN, OUT> mount;
+    private final boolean comparable;
     private Iterator<IN> iterator;
-    private Iterator<OUT> distinct;
+    private Seen<OUT> seen;
+    private OUT next;
+    private boolean hasNext;
 
-    IteratorForDistinct(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun, CollectionHelper.FunctionMount<IN, OUT> mount){
+    IteratorForDistinct(CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun,
+                        CollectionHelper.FunctionMount<IN, OUT> mount,
+                        boolean comparable){
         this.iteratorFun = Objects.requireNonNull(iteratorFun);
         this.mount = Objects.requireNonNull(mount);
+        this.comparable = comparable;
     }
 
-    @SuppressWarnings("all")
     private void checkInit(){
         if(iterator == null){
             iterator = Objects.requireNonNull(iteratorFun.get());
-            List<OUT> acc = new ArrayList<>();
-            while(iterator.hasNext()) {
-                IN curr = iterator.next();
-                OUT out = mount.mount(curr);
-                if(out instanceof Comparable<?>) {
-                    Comparable comp = (Comparable<?>) out;
-                    if(CollectionHelper.all(acc, a -> comp.compareTo(a) != 0)) {
-                        acc.add(mount.mount(curr));
-                    }
-                } else if(!acc.contains(out)) {
-                    acc.add(mount.mount(curr));
-                }
-            }
-            distinct = acc.iterator();
+            seen = new Seen<>(comparable);
         }
     }
 
     @Override
     public boolean hasNext() {
         checkInit();
-        return distinct.hasNext();
+        while (!hasNext && iterator.hasNext()) {
+            OUT out = mount.mount(iterator.next());
+            if(seen.add(out)) {
+                next = out;
+                hasNext = true;
+            }
+        }
+        return hasNext;
     }
 
     @Override
+    @SuppressWarnings("Duplicates")
     public OUT next() {
+        if(hasNext()) {
+            OUT n = next;
+            next = null;
+            hasNext = false;
+            return n;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super OUT> sink) {
         checkInit();
-        return distinct.next();
+        if (hasNext && !sink.push(next())) {
+            return false;
+        }
+        return IteratorForPush.forEachWhile(iterator, in -> {
+            OUT out = mount.mount(in);
+            return !seen.add(out) || sink.push(out);
+        });
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(iterator);
     }
 }
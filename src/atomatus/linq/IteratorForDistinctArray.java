@@ -1,50 +1,59 @@
 package atomatus.linq;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForDistinctArray<IN, OUT> implements Iterator<OUT> {
+final class IteratorForDistinctArray<IN, OUT> implements IteratorForPush.Source<OUT> {
 
     private final IN[] array;
     private final CollectionHelper.FunctionMount<IN, OUT> mount;
-    private Iterator<IN> iterator;
-    private Iterator<OUT> distinct;
+    private final IteratorForDistinct.Seen<OUT> seen;
+    private int index;
+    private OUT next;
+    private boolean hasNext;
 
-    IteratorForDistinctArray(IN[] array, CollectionHelper.FunctionMount<IN, OUT> mount){
+    IteratorForDistinctArray(IN[] array, CollectionHelper.FunctionMount<IN, OUT> mount, boolean comparable){
         this.array = Objects.requireNonNull(array);
         this.mount = Objects.requireNonNull(mount);
+        this.seen = new IteratorForDistinct.Seen<>(comparable);
     }
 
-    @SuppressWarnings("all")
-    private void checkInit(){
-        if(distinct == null){
-            List<OUT> acc = new ArrayList<>();
-            for(IN curr : array) {
-                OUT out = mount.mount(curr);
-                if(out instanceof Comparable<?>) {
-                    Comparable comp = (Comparable<?>) out;
-                    if(CollectionHelper.all(acc, a -> comp.compareTo(a) != 0)) {
-                        acc.add(mount.mount(curr));
-                    }
-                } else if(!acc.contains(out)) {
-                    acc.add(mount.mount(curr));
-                }
+    @Override
+    public boolean hasNext() {
+        while (!hasNext && index < array.length) {
+            OUT out = mount.mount(array[index++]);
+            if(seen.add(out)) {
+                next = out;
+                hasNext = true;
             }
-            distinct = acc.iterator();
         }
+        return hasNext;
     }
 
     @Override
-    public boolean hasNext() {
-        checkInit();
-        return distinct.hasNext();
+    @SuppressWarnings("Duplicates")
+    public OUT next() {
+        if(hasNext()) {
+            OUT n = next;
+            next = null;
+            hasNext = false;
+            return n;
+        } else {
+            throw new NoSuchElementException();
+        }
     }
 
     @Override
-    public OUT next() {
-        checkInit();
-        return distinct.next();
+    public boolean forEachWhile(IteratorForPush.Sink<? super OUT> sink) {
+        if (hasNext && !sink.push(next())) {
+            return false;
+        }
+        while (index < array.length) {
+            OUT out = mount.mount(array[index++]);
+            if (seen.add(out) && !sink.push(out)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,88 @@
+package atomatus.linq;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Distinct elements of a sorted source, equal elements are adjacent (same sort key),
+ * then only elements of current sort key are kept to check equality.
+ *
+ * @param <E> element type
+ */
+final class IteratorForDistinctSorted<E> implements IteratorForPush.Source<E> {
+
+    /**
+     * Max size of current key set cleared for reuse, larger sets are released.
+     */
+    private static final int REUSE_SIZE = 1 << 4;
+
+    private final Iterator<E> iterator;
+    private final Comparator<? super E> comparator;
+    private Set<E> run;
+    private E last;
+    private E next;
+    private boolean hasLast;
+    private boolean hasNext;
+
+    @SuppressWarnings("unchecked")
+    IteratorForDistinctSorted(Iterator<E> iterator, Comparator<? super E> comparator) {
+        this.iterator = Objects.requireNonNull(iterator);
+        this.comparator = comparator == null ? (Comparator<? super E>) Comparator.naturalOrder() : comparator;
+        this.run = new HashSet<>();
+    }
+
+    private boolean add(E e) {
+        if (!hasLast || comparator.compare(last, e) != 0) {
+            if (run.size() > REUSE_SIZE) {
+                run = new HashSet<>();
+            } else {
+                run.clear();
+            }
+        }
+        last = e;
+        hasLast = true;
+        return run.add(e);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!hasNext && iterator.hasNext()) {
+            E e = iterator.next();
+            if (add(e)) {
+                next = e;
+                hasNext = true;
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    @SuppressWarnings("Duplicates")
+    public E next() {
+        if (hasNext()) {
+            E n = next;
+            next = null;
+            hasNext = false;
+            return n;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super E> sink) {
+        if (hasNext && !sink.push(next())) {
+            return false;
+        }
+        return IteratorForPush.forEachWhile(iterator, e -> !add(e) || sink.push(e));
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(iterator);
+    }
+}
@@ -0,0 +1,238 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterators for double values used by {@link DoubleIterableResult},
+ * every element is read and write as primitive double (non boxing).
+ */
+final class IteratorForDouble {
+
+    private IteratorForDouble() { }
+
+    /**
+     * Iterate double array.
+     */
+    static final class ForArray implements PrimitiveIterator.OfDouble {
+
+        private final double[] arr;
+        private int index;
+
+        ForArray(double[] arr) {
+            this.arr = Objects.requireNonNull(arr);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < arr.length;
+        }
+
+        @Override
+        public double nextDouble() {
+            if(index == arr.length) {
+                throw new NoSuchElementException();
+            }
+            return arr[index++];
+        }
+    }
+
+    /**
+     * Mount double value from each element of iterator.
+     * @param <E> element type
+     */
+    static final class ForMount<E> implements PrimitiveIterator.OfDouble {
+
+        private final Iterator<E> iterator;
+        private final CollectionHelper.FunctionMountToDouble<E> mount;
+
+        ForMount(Iterator<E> iterator, CollectionHelper.FunctionMountToDouble<E> mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            return mount.mount(iterator.next());
+        }
+    }
+
+    /**
+     * Filter double values.
+     */
+    static final class ForFilter implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfDouble iterator;
+        private final CollectionHelper.CompareDoubleEntryValid where;
+        private double next;
+        private boolean hasNext;
+
+        ForFilter(PrimitiveIterator.OfDouble iterator, CollectionHelper.CompareDoubleEntryValid where) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.where = Objects.requireNonNull(where);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasNext && iterator.hasNext()) {
+                double cand = iterator.nextDouble();
+                if(where.isValid(cand)) {
+                    next = cand;
+                    hasNext = true;
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public double nextDouble() {
+            if(hasNext()) {
+                hasNext = false;
+                return next;
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Mount a new double value from each double value.
+     */
+    static final class ForSelect implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfDouble iterator;
+        private final CollectionHelper.FunctionMountDouble mount;
+
+        ForSelect(PrimitiveIterator.OfDouble iterator, CollectionHelper.FunctionMountDouble mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            return mount.mount(iterator.nextDouble());
+        }
+    }
+
+    /**
+     * Discard first values of iterator.
+     */
+    static final class ForJump implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfDouble iterator;
+        private int count;
+
+        ForJump(PrimitiveIterator.OfDouble iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (count > 0 && iterator.hasNext()) {
+                iterator.nextDouble();
+                count--;
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            if(hasNext()) {
+                return iterator.nextDouble();
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Take only first values of iterator.
+     */
+    static final class ForTake implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfDouble iterator;
+        private int count;
+
+        ForTake(PrimitiveIterator.OfDouble iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0 && iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            if(count == 0) {
+                throw new NoSuchElementException();
+            }
+            count--;
+            return iterator.nextDouble();
+        }
+    }
+
+    /**
+     * Widening of int values to double.
+     */
+    static final class ForInt implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfInt iterator;
+
+        ForInt(PrimitiveIterator.OfInt iterator) {
+            this.iterator = Objects.requireNonNull(iterator);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            return iterator.nextInt();
+        }
+    }
+
+    /**
+     * Widening of long values to double.
+     */
+    static final class ForLong implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfLong iterator;
+
+        ForLong(PrimitiveIterator.OfLong iterator) {
+            this.iterator = Objects.requireNonNull(iterator);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public double nextDouble() {
+            return iterator.nextLong();
+        }
+    }
+}
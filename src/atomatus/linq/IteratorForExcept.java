@@ -0,0 +1,116 @@
+package atomatus.linq;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Set difference streaming current iterable over a hash lookup
+ * built once (on first read) by lookup function.
+ * @param <I> element type
+ */
+final class IteratorForExcept<I> implements IteratorForPush.Source<I> {
+
+    private final Iterator<I> curr;
+    private final CollectionHelper.FunctionGet<Set<Object>> lookupFun;
+    private Set<Object> lookup;
+    private I next;
+    private boolean hasNext;
+
+    private IteratorForExcept(Iterator<I> curr, CollectionHelper.FunctionGet<Set<Object>> lookupFun) {
+        this.curr       = Objects.requireNonNull(curr);
+        this.lookupFun  = Objects.requireNonNull(lookupFun);
+    }
+
+    IteratorForExcept(Iterable<I> curr, CollectionHelper.FunctionGet<Set<Object>> lookupFun) {
+        this(Objects.requireNonNull(curr).iterator(), lookupFun);
+    }
+
+    IteratorForExcept(I[] arr, CollectionHelper.FunctionGet<Set<Object>> lookupFun) {
+        this(new IteratorForSelectArray<>(Objects.requireNonNull(arr)), lookupFun);
+    }
+
+    /**
+     * Lookup of all elements of iterables, presized when their sizes are known.
+     *
+     * @param args iterables of elements to remove
+     * @return new lookup
+     */
+    static Set<Object> lookupOf(Iterable<?>[] args) {
+        long size = IterableResultPlan.sizeOf(0, args);
+        Set<Object> lookup = size == IterableResultPlan.UNKNOWN_SIZE ? new HashSet<>() :
+                new HashSet<>((int) Math.min(size / .75f + 1, 1 << 30));
+        for (Iterable<?> arg : args) {
+            for (Object e : arg) {
+                lookup.add(e);
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * Lookup of all elements of arrays.
+     *
+     * @param arg  first array of elements to remove
+     * @param args other arrays of elements to remove
+     * @return new lookup
+     */
+    static Set<Object> lookupOf(Object[] arg, Object[][] args) {
+        Iterable<?>[] arr = new Iterable<?>[args.length + 1];
+        arr[0] = Arrays.asList(arg);
+        for (int i = 0; i < args.length; i++) {
+            arr[i + 1] = Arrays.asList(args[i]);
+        }
+        return lookupOf(arr);
+    }
+
+    private void checkInit() {
+        if(lookup == null) {
+            lookup = Objects.requireNonNull(lookupFun.get());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        checkInit();
+        while (!hasNext && curr.hasNext()) {
+            I cand = curr.next();
+            //once emitted is added to lookup, avoiding duplicated elements.
+            if(lookup.add(cand)) {
+                next = cand;
+                hasNext = true;
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    @SuppressWarnings("Duplicates")
+    public I next() {
+        if(hasNext()) {
+            I n = next;
+            next = null;
+            hasNext = false;
+            return n;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        checkInit();
+        if (hasNext && !sink.push(next())) {
+            return false;
+        }
+        return IteratorForPush.forEachWhile(curr, cand -> !lookup.add(cand) || sink.push(cand));
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(curr);
+    }
+}
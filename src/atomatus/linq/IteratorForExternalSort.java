@@ -0,0 +1,378 @@
+package atomatus.linq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Stable ordering of source elements under a memory budget (external merge sort),
+ * each budget of elements is sorted and written on a run file, then runs are merged
+ * on demand by a heap of their heads. Runs are deleted when merged on a larger run, when merge ends
+ * or when iterator is closed (terminal operations close it when they stop before end).
+ *
+ * @param <E> element type
+ */
+final class IteratorForExternalSort<E> implements Iterator<E>, Closeable {
+
+    /**
+     * Max count of runs merged at once, when more runs are written
+     * adjacent runs are merged on larger runs before final merge.
+     */
+    private static final int MAX_FAN_IN = 1 << 6;
+
+    /**
+     * Count of elements written on an object stream before reset it (release stream handles).
+     */
+    private static final int RESET_INTERVAL = 1 << 10;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Sorted run file.
+     */
+    private static final class Run {
+        private final File file;
+        private final int count;
+
+        Run(File file, int count) {
+            this.file   = file;
+            this.count  = count;
+        }
+    }
+
+    /**
+     * Head of a run being merged, runs of lower index hold earlier source elements.
+     */
+    private abstract static class Head<E> {
+        private final int index;
+        private E value;
+
+        Head(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Move to next element of run.
+         * @return false when run ends.
+         */
+        abstract boolean advance();
+
+        abstract void close();
+    }
+
+    private final class FileHead extends Head<E> {
+
+        private final ObjectInputStream in;
+        private int remaining;
+
+        FileHead(Run run, int index) {
+            super(index);
+            try {
+                this.in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(run.file), BUFFER_SIZE));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            this.remaining = run.count;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            if (remaining == 0) {
+                close();
+                return false;
+            }
+
+            try {
+                remaining--;
+                ((Head<E>) this).value = (E) spill.getCodec().read(in);
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static final class MemoryHead<E> extends Head<E> {
+
+        private final Object[] buffer;
+        private final int length;
+        private int position;
+
+        MemoryHead(Object[] buffer, int length, int index) {
+            super(index);
+            this.buffer = buffer;
+            this.length = length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            if (position == length) {
+                return false;
+            }
+            ((Head<E>) this).value = (E) buffer[position];
+            buffer[position++] = null;
+            return true;
+        }
+
+        @Override
+        void close() {
+            Arrays.fill(buffer, position, length, null);
+            position = length;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private final Spill<? super E> spill;
+    private final List<Run> runs;
+    private final List<File> files;
+    private final List<Head<E>> heads;
+    private PriorityQueue<Head<E>> heap;
+    private int remaining;
+    private boolean closed;
+
+    private IteratorForExternalSort(Comparator<? super E> comparator, Spill<? super E> spill) {
+        this.comparator = comparator;
+        this.spill      = spill;
+        this.runs       = new ArrayList<>();
+        this.files      = new ArrayList<>();
+        this.heads      = new ArrayList<>();
+    }
+
+    /**
+     * Ordered elements of source, sorting runs of budget elements on temporary files.
+     *
+     * @param source     source
+     * @param comparator element comparator
+     * @param spill      spill policy
+     * @param skip       count of first ordered elements to jump
+     * @param limit      max count of elements to take or {@link IteratorForSlice#NO_LIMIT}
+     * @param <E>        element type
+     * @return lazy merge of sorted runs, stops reading runs after limit.
+     */
+    static <E> Iterator<E> sort(Iterable<E> source, Comparator<? super E> comparator,
+                                Spill<? super E> spill, int skip, int limit) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(spill);
+        IteratorForExternalSort<E> iterator = new IteratorForExternalSort<>(comparator, spill);
+        try {
+            iterator.remaining = IteratorForSlice.NO_LIMIT;
+            iterator.split(source);
+            for (int i = 0; i < skip && iterator.hasNext(); i++) {
+                iterator.next();
+            }
+            iterator.remaining = limit;
+            return iterator;
+        } catch (RuntimeException | Error e) {
+            iterator.close();
+            throw e;
+        }
+    }
+
+    //region runs
+    @SuppressWarnings("unchecked")
+    private void sortBuffer(Object[] buffer, int length) {
+        Comparator<Object> c = (Comparator<Object>) comparator;
+        if (length >= IteratorForOrder.PARALLEL_SORT_MIN_LENGTH) {
+            Arrays.parallelSort(buffer, 0, length, c);
+        } else {
+            Arrays.sort(buffer, 0, length, c);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Run write(Iterator<?> sorted) {
+        try {
+            File file = spill.createFile("order");
+            files.add(file);
+            int count = 0;
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+                while (sorted.hasNext()) {
+                    if (count > 0 && count % RESET_INTERVAL == 0) {
+                        out.reset();
+                    }
+                    ((Spill.Codec<Object>) spill.getCodec()).write(out, sorted.next());
+                    count++;
+                }
+            }
+            return new Run(file, count);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Read source on buffer of budget length, writing each full buffer sorted on a run file.
+     * Last partial buffer is kept sorted in memory as last run.
+     */
+    private void split(Iterable<E> source) {
+        int budget = spill.getBudget();
+        int capacity = IterableResultPlan.isSized(source) ?
+                (int) Math.min(budget, IterableResultPlan.sizeOf(source)) : Math.min(budget, 1 << 10);
+        Object[][] buffer = {new Object[Math.max(1, capacity)]};
+        int[] length = {0};
+        IteratorForPush.forEachWhile(source, e -> {
+            Object[] arr = buffer[0];
+            if (length[0] == arr.length) {
+                if (arr.length < budget) {
+                    arr = buffer[0] = Arrays.copyOf(arr, (int) Math.min(budget, arr.length * 2L));
+                } else {
+                    sortBuffer(arr, length[0]);
+                    runs.add(write(Arrays.asList(arr).iterator()));
+                    length[0] = 0;
+                }
+            }
+            arr[length[0]++] = e;
+            return true;
+        });
+        sortBuffer(buffer[0], length[0]);
+
+        while (runs.size() + 1 > MAX_FAN_IN) {
+            List<Run> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+                List<Run> group = runs.subList(i, Math.min(runs.size(), i + MAX_FAN_IN));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                } else {
+                    merged.add(write(merge(group)));
+                    heads.clear();
+                    for (Run r : group) {
+                        deleteRun(r);
+                    }
+                }
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+
+        heap = open(runs, buffer[0], length[0]);
+    }
+
+    private PriorityQueue<Head<E>> open(List<Run> runs, Object[] buffer, int length) {
+        PriorityQueue<Head<E>> heap = new PriorityQueue<>(runs.size() + 1, (h0, h1) -> {
+            int c = comparator.compare(h0.value, h1.value);
+            return c != 0 ? c : Integer.compare(h0.index, h1.index);
+        });
+        for (int i = 0; i < runs.size(); i++) {
+            push(heap, new FileHead(runs.get(i), i));
+        }
+        if (buffer != null) {
+            push(heap, new MemoryHead<>(buffer, length, runs.size()));
+        }
+        return heap;
+    }
+
+    private void push(PriorityQueue<Head<E>> heap, Head<E> head) {
+        heads.add(head);
+        if (head.advance()) {
+            heap.add(head);
+        }
+    }
+
+    /**
+     * Merge of run files by heap of heads.
+     */
+    private Iterator<E> merge(List<Run> runs) {
+        PriorityQueue<Head<E>> heap = open(runs, null, 0);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                return poll(heap);
+            }
+        };
+    }
+
+    private static <E> E poll(PriorityQueue<Head<E>> heap) {
+        Head<E> head = heap.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        E value = head.value;
+        head.value = null;
+        if (head.advance()) {
+            heap.add(head);
+        }
+        return value;
+    }
+    //endregion
+
+    //region Iterator
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        } else if (remaining == 0 || heap.isEmpty()) {
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (remaining != IteratorForSlice.NO_LIMIT) {
+            remaining--;
+        }
+        return poll(heap);
+    }
+
+    /**
+     * Close run readers and delete run files, iteration ends.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Head<E> head : heads) {
+            head.close();
+        }
+        heads.clear();
+        if (heap != null) {
+            heap.clear();
+        }
+        for (File file : files) {
+            Spill.deleteFile(file);
+        }
+        files.clear();
+        runs.clear();
+    }
+    //endregion
+
+    private void deleteRun(Run run) {
+        Spill.deleteFile(run.file);
+        files.remove(run.file);
+    }
+}
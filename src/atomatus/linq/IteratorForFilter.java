@@ -4,7 +4,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForFilter<I> implements Iterator<I> {
+final class IteratorForFilter<I> implements IteratorForPush.Source<I> {
 
     private final CollectionHelper.FunctionGet<Iterator<I>> iteratorFun;
     private final CollectionHelper.CompareEntryValid<I> where;
@@ -45,18 +45,30 @@ final class IteratorForFilter<I> implements Iterator<I> {
     @Override
     public boolean hasNext() {
         checkInit();
-        return hasData() ||
-                (iterator.hasNext() &&
-                        (pushIf(iterator.next()) || hasNext()));
+        while (!hasData() && iterator.hasNext()) {
+            pushIf(iterator.next());
+        }
+        return hasData();
     }
 
     @Override
     public I next() {
-        checkInit();
-        if(hasData() || hasNext()) {
+        if(hasNext()) {
             return pop();
         } else {
             throw new NoSuchElementException();
         }
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        checkInit();
+        return (!hasData() || sink.push(pop())) &&
+                IteratorForPush.forEachWhile(iterator, e -> !where.isValid(e) || e == null || sink.push(e));
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(iterator);
+    }
 }
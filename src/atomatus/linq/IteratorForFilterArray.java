@@ -1,20 +1,30 @@
 package atomatus.linq;
 
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForFilterArray<I> implements Iterator<I> {
+final class IteratorForFilterArray<I> implements IteratorForPush.Source<I> {
 
     private final I[] arr;
     private final CollectionHelper.CompareEntryValid<I> where;
 
+    private final int to;
+
     private I data;
     private int index;
 
-    IteratorForFilterArray(I[] arr, CollectionHelper.CompareEntryValid<I> where){
-        this.arr = Objects.requireNonNull(arr);
+    IteratorForFilterArray(I[] arr, CollectionHelper.CompareEntryValid<I> where, int from, int to){
+        if(from < 0 || from > to || to > Objects.requireNonNull(arr).length) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.arr = arr;
         this.where = Objects.requireNonNull(where);
+        this.index = from;
+        this.to = to;
+    }
+
+    IteratorForFilterArray(I[] arr, CollectionHelper.CompareEntryValid<I> where){
+        this(arr, where, 0, Objects.requireNonNull(arr).length);
     }
 
     private boolean pushIf(I i){
@@ -37,17 +47,33 @@ final class IteratorForFilterArray<I> implements Iterator<I> {
 
     @Override
     public boolean hasNext() {
-        return hasData() ||
-                (index < arr.length &&
-                        (pushIf(arr[index++]) || hasNext()));
+        while (!hasData() && index < to) {
+            pushIf(arr[index++]);
+        }
+        return hasData();
     }
 
     @Override
     public I next() {
-        if(hasData() || hasNext()) {
+        if(hasNext()) {
             return pop();
         } else {
             throw new NoSuchElementException();
         }
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        if(hasData() && !sink.push(pop())) {
+            return false;
+        }
+
+        while (index < to) {
+            I e = arr[index++];
+            if(where.isValid(e) && e != null && !sink.push(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -3,9 +3,10 @@ package atomatus.linq;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForFilterAsClassType<I, E, C, S extends Collection<? extends I>> implements Iterator<E> {
+final class IteratorForFilterAsClassType<I, E, C, S extends Collection<? extends I>> implements IteratorForPush.Source<E> {
 
     private final Class<C> classType;
     private final CollectionHelper.FunctionGet<S> getCollection;
@@ -13,6 +14,8 @@ final class IteratorForFilterAsClassType<I, E, C, S extends Collection<? extends
     private final CollectionHelper.FunctionMount<I, E> mountElementFun;
 
     private Iterator<I> iterator;
+    private I data;
+    private boolean found;
 
     IteratorForFilterAsClassType(Class<C> classType,
                                  CollectionHelper.FunctionGet<S> getCollection,
@@ -35,30 +38,54 @@ final class IteratorForFilterAsClassType<I, E, C, S extends Collection<? extends
         }
     }
 
-    private I getNext() {
-        if(iterator == null || !iterator.hasNext()){
-            return null;
-        }
+    private boolean isValid(I entry) {
+        return (checkEntryValidForClassType != null && checkEntryValidForClassType.isValidFor(entry, classType)) ||
+                classType.isInstance(entry);
+    }
 
-        I entry = iterator.next();
-        return ((checkEntryValidForClassType != null && checkEntryValidForClassType.isValidFor(entry, classType)) ||
-                classType.isInstance(entry)) ? entry : this.getNext();
+    private boolean findNext() {
+        while (!found && iterator.hasNext()) {
+            I entry = iterator.next();
+            if(isValid(entry)) {
+                data = entry;
+                found = true;
+            }
+        }
+        return found;
     }
 
     @Override
     public boolean hasNext() {
         this.checkInitList();
-        return iterator.hasNext();
+        return findNext();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public E next() {
-        this.checkInitList();
-        I next = getNext();
-        return next == null ? null :
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        I next = data;
+        data = null;
+        found = false;
+        return mount(next);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E mount(I entry) {
+        return entry == null ? null :
                 mountElementFun != null ?
-                        mountElementFun.mount(next) :
-                        (E) next;
+                        mountElementFun.mount(entry) :
+                        (E) entry;
+    }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super E> sink) {
+        this.checkInitList();
+        if (found && !sink.push(next())) {
+            return false;
+        }
+        return IteratorForPush.forEachWhile(iterator, entry -> !isValid(entry) || sink.push(mount(entry)));
     }
 }
@@ -1,8 +1,10 @@
 package atomatus.linq;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 
 final class IteratorForGroup<K, V> extends IteratorForMap<K, IterableResult<V>> implements IterableResultGroup.IteratorGroup<K, V> {
@@ -79,7 +81,7 @@ final class IteratorForGroup<K, V> extends IteratorForMap<K, IterableResult<V>>
         this.filter             = filter;
         this.otherGroupEntries  = otherGroupEntries;
         this.limitCount         = limitCount;
-        this.calculator         = new IteratorForGroupCalculator<>(this::getResult);
+        this.calculator         = new IteratorForGroupCalculator<>(this::getSnapshot);
     }
 
     @Override
@@ -87,6 +89,25 @@ final class IteratorForGroup<K, V> extends IteratorForMap<K, IterableResult<V>>
         return new IterableMapForFunctionGet<>(iteratorFun, groupFun, filter, otherGroupEntries, limitCount);
     }
 
+    /**
+     * Fully grouped entries, source is grouped only once (by first request)
+     * and same entries are shared by all calculators until invalidate.
+     * @return read only group entries
+     */
+    private Set<Map.Entry<K, IterableResult<V>>> getSnapshot() {
+        return Collections.unmodifiableSet(getResult().entrySet());
+    }
+
+    @Override
+    public void materialize() {
+        getSnapshot();
+    }
+
+    @Override
+    public void invalidate() {
+        resetResult();
+    }
+
     /**
      * Generate an iterable result with the amount of items in each entry.
      *
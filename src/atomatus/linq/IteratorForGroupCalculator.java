@@ -56,6 +56,25 @@ final class IteratorForGroupCalculator<K, V> implements IterableResultGroup.Iter
         };
     }
 
+    /**
+     * Values on parallel mode over an indexed source, calculated by ranges on parallel.
+     */
+    private static boolean isParallelRange(IterableResult<?> list) {
+        return list instanceof IterableResultRange && list.isParallel();
+    }
+
+    private static <V, OUT> OUT min(IterableResult<V> list, CollectionHelper.FunctionMount<V, OUT> fun) {
+        return isParallelRange(list) ?
+                IteratorForParallel.min((IterableResultRange<V>) list, fun) :
+                IteratorForMath.min(list.iterator(), fun);
+    }
+
+    private static <V, OUT> OUT max(IterableResult<V> list, CollectionHelper.FunctionMount<V, OUT> fun) {
+        return isParallelRange(list) ?
+                IteratorForParallel.max((IterableResultRange<V>) list, fun) :
+                IteratorForMath.max(list.iterator(), fun);
+    }
+
     @Override
     public IterableResultMap<K, Integer> size() {
         return new IterableResultMap<K, Integer>() {
@@ -76,7 +95,7 @@ final class IteratorForGroupCalculator<K, V> implements IterableResultGroup.Iter
     @Override
     public <N extends Number> IterableResultMap<K, N> sum(CollectionHelper.FunctionMount<V, N> mountFun) {
         Objects.requireNonNull(mountFun);
-        return calc(list -> IteratorForMath.sum(list.iterator(), mountFun));
+        return calc(list -> list.sum(mountFun));
     }
 
     @Override
@@ -105,13 +124,13 @@ final class IteratorForGroupCalculator<K, V> implements IterableResultGroup.Iter
 
     @Override
     public IterableResultMap<K, V> min() {
-        return calc(list -> IteratorForMath.min(list.iterator()));
+        return calc(list -> min(list, v -> v));
     }
 
     @Override
     public <C extends Comparable<C>> IterableResultMap<K, V> min(CollectionHelper.FunctionMount<V, C> mountFun) {
         Objects.requireNonNull(mountFun);
-        return calc(list -> IteratorForMath.min(list.iterator(), (v) -> new Comparable<C>() {
+        return calc(list -> min(list, (V v) -> new Comparable<C>() {
             final V value = v;
             final C c = mountFun.mount(v);
 
@@ -124,13 +143,13 @@ final class IteratorForGroupCalculator<K, V> implements IterableResultGroup.Iter
 
     @Override
     public IterableResultMap<K, V> max() {
-        return calc(list -> IteratorForMath.max(list.iterator()));
+        return calc(list -> max(list, v -> v));
     }
 
     @Override
     public <C extends Comparable<C>> IterableResultMap<K, V> max(CollectionHelper.FunctionMount<V, C> mountFun) {
         Objects.requireNonNull(mountFun);
-        return calc(list -> IteratorForMath.max(list.iterator(), (v) -> new Comparable<C>() {
+        return calc(list -> max(list, (V v) -> new Comparable<C>() {
             final V value = v;
             final C c = mountFun.mount(v);
 
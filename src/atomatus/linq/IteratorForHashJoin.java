@@ -0,0 +1,224 @@
+package atomatus.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Hash join of two sources, inner elements are indexed by key on a hash table,
+ * then each outer element probes table for its matches, generating elements on outer order.
+ * When both sizes are known and outer side is the smaller one, table is built from outer keys
+ * and keeps only inner elements matching them. Elements with null key never match.
+ * Outer sides of array or random access list on parallel mode are probed on parallel.
+ */
+final class IteratorForHashJoin {
+
+    private IteratorForHashJoin() { }
+
+    /**
+     * Build side elements of same key.
+     * @param <B> build side element type
+     */
+    private static final class Bucket<B> {
+        private final List<B> values;
+
+        Bucket() {
+            this.values = new ArrayList<>(1);
+        }
+    }
+
+    /**
+     * Lazy probe of streamed side elements, generating one element for each match.
+     *
+     * @param <S> streamed side element type
+     * @param <B> build side element type
+     * @param <K> key type
+     * @param <R> generated element type
+     */
+    private static final class Probe<S, B, K, R> implements Iterator<R> {
+
+        private final Iterator<S> streamed;
+        private final Map<K, Bucket<B>> table;
+        private final CollectionHelper.FunctionMount<S, K> keyFun;
+        private final CollectionHelper.FunctionJoin<S, B, R> resultFun;
+        private final boolean outer;
+        private S current;
+        private List<B> matches;
+        private int index;
+
+        Probe(Iterator<S> streamed,
+              Map<K, Bucket<B>> table,
+              CollectionHelper.FunctionMount<S, K> keyFun,
+              CollectionHelper.FunctionJoin<S, B, R> resultFun,
+              boolean outer) {
+            this.streamed   = streamed;
+            this.table      = table;
+            this.keyFun     = keyFun;
+            this.resultFun  = resultFun;
+            this.outer      = outer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (matches == null || index >= matches.size()) {
+                if (!streamed.hasNext()) {
+                    return false;
+                }
+                current = streamed.next();
+                matches = match(table, keyFun, current, outer);
+                index   = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return resultFun.join(current, matches.get(index++));
+        }
+    }
+
+    //region table
+    private static <B, K> Map<K, Bucket<B>> build(Iterable<B> side, CollectionHelper.FunctionMount<B, K> keyFun) {
+        Map<K, Bucket<B>> table = new HashMap<>();
+        IteratorForPush.forEachWhile(side, b -> {
+            K k = keyFun.mount(b);
+            if (k != null) {
+                table.computeIfAbsent(k, key -> new Bucket<>()).values.add(b);
+            }
+            return true;
+        });
+        return table;
+    }
+
+    /**
+     * Table of inner elements matching outer keys, built when outer side is the smaller one.
+     */
+    private static <O, I, K> Map<K, Bucket<I>> build(Iterable<O> outer,
+                                                     CollectionHelper.FunctionMount<O, K> outerKey,
+                                                     Iterable<I> inner,
+                                                     CollectionHelper.FunctionMount<I, K> innerKey) {
+        Map<K, Bucket<I>> table = new HashMap<>();
+        IteratorForPush.forEachWhile(outer, o -> {
+            K k = outerKey.mount(o);
+            if (k != null) {
+                table.computeIfAbsent(k, key -> new Bucket<>());
+            }
+            return true;
+        });
+        IteratorForPush.forEachWhile(inner, i -> {
+            K k = innerKey.mount(i);
+            Bucket<I> bucket = k == null ? null : table.get(k);
+            if (bucket != null) {
+                bucket.values.add(i);
+            }
+            return true;
+        });
+        return table;
+    }
+
+    /**
+     * Build side matches of streamed element.
+     *
+     * @return matches, a single null match when there is none and outer is set, otherwise null.
+     */
+    private static <S, B, K> List<B> match(Map<K, Bucket<B>> table,
+                                           CollectionHelper.FunctionMount<S, K> keyFun,
+                                           S s, boolean outer) {
+        K k = keyFun.mount(s);
+        Bucket<B> bucket = k == null ? null : table.get(k);
+        if (bucket != null && !bucket.values.isEmpty()) {
+            return bucket.values;
+        }
+        return outer ? Collections.singletonList(null) : null;
+    }
+
+    private static boolean isBuildOuter(Iterable<?> outer, Iterable<?> inner) {
+        return IterableResultPlan.isSized(outer) && IterableResultPlan.isSized(inner) &&
+                IterableResultPlan.sizeOf(outer) < IterableResultPlan.sizeOf(inner);
+    }
+
+    private static boolean isParallelRange(Iterable<?> side) {
+        return side instanceof IterableResultRange && ((IterableResultRange<?>) side).isParallel();
+    }
+    //endregion
+
+    //region probe
+    private static <S, B, K, R> Iterator<R> probe(Iterable<S> streamed,
+                                                  Map<K, Bucket<B>> table,
+                                                  CollectionHelper.FunctionMount<S, K> keyFun,
+                                                  CollectionHelper.FunctionJoin<S, B, R> resultFun,
+                                                  boolean outer) {
+        if (!isParallelRange(streamed)) {
+            return new Probe<>(streamed.iterator(), table, keyFun, resultFun, outer);
+        }
+
+        return IteratorForParallel.<S, R>probe((IterableResultRange<S>) streamed, (acc, s) -> {
+            List<B> matches = match(table, keyFun, s, outer);
+            if (matches != null) {
+                for (B b : matches) {
+                    acc.add(resultFun.join(s, b));
+                }
+            }
+            return acc;
+        }).iterator();
+    }
+    //endregion
+
+    //region join
+    static <O, I, K, R> IterableResult<R> join(Iterable<O> outer,
+                                               Iterable<I> inner,
+                                               CollectionHelper.FunctionMount<O, K> outerKey,
+                                               CollectionHelper.FunctionMount<I, K> innerKey,
+                                               CollectionHelper.FunctionJoin<O, I, R> resultFun,
+                                               boolean leftOuter) {
+        Objects.requireNonNull(outer);
+        Objects.requireNonNull(inner);
+        Objects.requireNonNull(outerKey);
+        Objects.requireNonNull(innerKey);
+        Objects.requireNonNull(resultFun);
+        return new IterableResult<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                Map<K, Bucket<I>> table = isBuildOuter(outer, inner) ?
+                        build(outer, outerKey, inner, innerKey) : build(inner, innerKey);
+                return probe(outer, table, outerKey, resultFun, leftOuter);
+            }
+        };
+    }
+
+    static <O, I, K, R> IterableResult<R> groupJoin(Iterable<O> outer,
+                                                    Iterable<I> inner,
+                                                    CollectionHelper.FunctionMount<O, K> outerKey,
+                                                    CollectionHelper.FunctionMount<I, K> innerKey,
+                                                    CollectionHelper.FunctionJoin<O, IterableResult<I>, R> resultFun) {
+        Objects.requireNonNull(outer);
+        Objects.requireNonNull(inner);
+        Objects.requireNonNull(outerKey);
+        Objects.requireNonNull(innerKey);
+        Objects.requireNonNull(resultFun);
+        return new IterableResult<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                Map<K, Bucket<I>> table = build(inner, innerKey);
+                CollectionHelper.FunctionMount<O, R> groupFun = o -> {
+                    K k = outerKey.mount(o);
+                    Bucket<I> bucket = k == null ? null : table.get(k);
+                    return resultFun.join(o, CollectionHelper.select(
+                            bucket == null ? Collections.<I>emptyList() : bucket.values, v -> v));
+                };
+                return isParallelRange(outer) ?
+                        IteratorForParallel.toList(((IterableResultRange<O>) outer).fuseSelect(groupFun)).iterator() :
+                        CollectionHelper.select(outer, groupFun).iterator();
+            }
+        };
+    }
+    //endregion
+}
@@ -0,0 +1,194 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterators for int values used by {@link IntIterableResult},
+ * every element is read and write as primitive int (non boxing).
+ */
+final class IteratorForInt {
+
+    private IteratorForInt() { }
+
+    /**
+     * Iterate int array.
+     */
+    static final class ForArray implements PrimitiveIterator.OfInt {
+
+        private final int[] arr;
+        private int index;
+
+        ForArray(int[] arr) {
+            this.arr = Objects.requireNonNull(arr);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < arr.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if(index == arr.length) {
+                throw new NoSuchElementException();
+            }
+            return arr[index++];
+        }
+    }
+
+    /**
+     * Mount int value from each element of iterator.
+     * @param <E> element type
+     */
+    static final class ForMount<E> implements PrimitiveIterator.OfInt {
+
+        private final Iterator<E> iterator;
+        private final CollectionHelper.FunctionMountToInt<E> mount;
+
+        ForMount(Iterator<E> iterator, CollectionHelper.FunctionMountToInt<E> mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            return mount.mount(iterator.next());
+        }
+    }
+
+    /**
+     * Filter int values.
+     */
+    static final class ForFilter implements PrimitiveIterator.OfInt {
+
+        private final PrimitiveIterator.OfInt iterator;
+        private final CollectionHelper.CompareIntEntryValid where;
+        private int next;
+        private boolean hasNext;
+
+        ForFilter(PrimitiveIterator.OfInt iterator, CollectionHelper.CompareIntEntryValid where) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.where = Objects.requireNonNull(where);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasNext && iterator.hasNext()) {
+                int cand = iterator.nextInt();
+                if(where.isValid(cand)) {
+                    next = cand;
+                    hasNext = true;
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public int nextInt() {
+            if(hasNext()) {
+                hasNext = false;
+                return next;
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Mount a new int value from each int value.
+     */
+    static final class ForSelect implements PrimitiveIterator.OfInt {
+
+        private final PrimitiveIterator.OfInt iterator;
+        private final CollectionHelper.FunctionMountInt mount;
+
+        ForSelect(PrimitiveIterator.OfInt iterator, CollectionHelper.FunctionMountInt mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            return mount.mount(iterator.nextInt());
+        }
+    }
+
+    /**
+     * Discard first values of iterator.
+     */
+    static final class ForJump implements PrimitiveIterator.OfInt {
+
+        private final PrimitiveIterator.OfInt iterator;
+        private int count;
+
+        ForJump(PrimitiveIterator.OfInt iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (count > 0 && iterator.hasNext()) {
+                iterator.nextInt();
+                count--;
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            if(hasNext()) {
+                return iterator.nextInt();
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Take only first values of iterator.
+     */
+    static final class ForTake implements PrimitiveIterator.OfInt {
+
+        private final PrimitiveIterator.OfInt iterator;
+        private int count;
+
+        ForTake(PrimitiveIterator.OfInt iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0 && iterator.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            if(count == 0) {
+                throw new NoSuchElementException();
+            }
+            count--;
+            return iterator.nextInt();
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package atomatus.linq;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
-final class IteratorForIntersection<I> implements Iterator<I> {
+/**
+ * Intersection probing the largest iterable (streamed) over
+ * hash lookups built once from all others iterables.
+ * @param <I> element type
+ */
+final class IteratorForIntersection<I> implements IteratorForPush.Source<I> {
 
-    private int index;
     private final Iterable<I>[] args;
-    private Iterator<I> curr;
+    private Iterator<I> probe;
+    private Set<?>[] lookups;
     private I next;
 
     IteratorForIntersection(Iterable<I>[] args) {
@@ -18,37 +29,76 @@ final class IteratorForIntersection<I> implements Iterator<I> {
         this.args = args;
     }
 
-    @Override
-    public boolean hasNext() {
-        if(next != null){
-            return true;
-        } else if(index < args.length) {
-            if(curr == null) {
-                curr = args[index++].iterator();
-                if(!curr.hasNext()){
-                    curr = null;
-                    return hasNext();
-                }
-            }
+    /**
+     * Estimated size of iterable (collection or iterable result), when unknown is considered
+     * the largest one, then it is prefered to be streamed instead of loaded in memory.
+     */
+    private static long estimateSize(Iterable<?> iterable) {
+        return IterableResultPlan.sizeOf(iterable);
+    }
+
+    private static <E> Set<E> toLookup(Iterable<E> iterable) {
+        if(iterable instanceof Collection<?>) {
+            return new HashSet<>((Collection<E>) iterable);
+        }
+        long size = IterableResultPlan.isSized(iterable) ? IterableResultPlan.sizeOf(iterable) : IterableResultPlan.UNKNOWN_SIZE;
+        Set<E> set = size == IterableResultPlan.UNKNOWN_SIZE ? new HashSet<>() :
+                new HashSet<>((int) Math.min(size / .75f + 1, 1 << 30));
+        for (E e : iterable) set.add(e);
+        return set;
+    }
 
-            if(curr.hasNext()) {
-                I next = curr.next();
-                if(next == null){
-                    return hasNext();
+    private void checkInit() {
+        if(probe == null) {
+            int probeIndex = 0;
+            long max = -1;
+            for (int i = 0, l = args.length; i < l; i++) {
+                long size = estimateSize(args[i]);
+                if(size > max) {
+                    max = size;
+                    probeIndex = i;
                 }
+            }
 
-                for(int i=index, l = args.length; i < l; i++) {
-                    for (I n : args[i]) {
-                        if (next == n || next.equals(n)) {
-                            this.next = next;
-                            return true;
-                        }
+            Set<?>[] lookups = new Set<?>[args.length - 1];
+            for (int i = 0, j = 0, l = args.length; i < l; i++) {
+                if(i != probeIndex) {
+                    Set<?> lookup = toLookup(args[i]);
+                    if(lookup.isEmpty()) {
+                        this.lookups = new Set<?>[0];
+                        this.probe = Collections.emptyIterator();
+                        return;
                     }
+                    lookups[j++] = lookup;
                 }
-                return hasNext();
+            }
+
+            //smaller lookups first, they rejects candidates faster.
+            Arrays.sort(lookups, Comparator.comparingInt(Set::size));
+            this.lookups = lookups;
+            this.probe = args[probeIndex].iterator();
+        }
+    }
+
+    private boolean containsAll(I cand) {
+        for (Set<?> lookup : lookups) {
+            if(!lookup.contains(cand)) {
+                return false;
             }
         }
-        return false;
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        checkInit();
+        while (next == null && probe.hasNext()) {
+            I cand = probe.next();
+            if(cand != null && containsAll(cand)) {
+                next = cand;
+            }
+        }
+        return next != null;
     }
 
     @Override
@@ -62,4 +112,18 @@ final class IteratorForIntersection<I> implements Iterator<I> {
             throw new NoSuchElementException();
         }
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        checkInit();
+        if (next != null && !sink.push(next())) {
+            return false;
+        }
+        return IteratorForPush.forEachWhile(probe, cand -> cand == null || !containsAll(cand) || sink.push(cand));
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(probe);
+    }
 }
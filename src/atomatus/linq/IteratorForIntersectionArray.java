@@ -1,13 +1,23 @@
 package atomatus.linq;
 
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
-final class IteratorForIntersectionArray<I> implements Iterator<I> {
+/**
+ * Intersection probing the largest array over
+ * hash lookups built once from all others arrays.
+ * @param <I> element type
+ */
+final class IteratorForIntersectionArray<I> implements IteratorForPush.Source<I> {
 
-    private int index, cIndex;
     private final I[][] args;
+    private I[] probe;
+    private Set<?>[] lookups;
+    private int index;
     private I next;
 
     IteratorForIntersectionArray(I[][] args) {
@@ -17,43 +27,53 @@ final class IteratorForIntersectionArray<I> implements Iterator<I> {
         this.args = args;
     }
 
-    private boolean exists(I cand, I[][] args, int index, int length) {
-        if (index == length) {
-            return true;
-        }
+    private void checkInit() {
+        if(probe == null) {
+            int probeIndex = 0;
+            for (int i = 1, l = args.length; i < l; i++) {
+                if(args[i].length > args[probeIndex].length) {
+                    probeIndex = i;
+                }
+            }
 
-        I[] arr = args[index];
-        for (I i : arr) {
-            if (i != null && (i == cand || i.equals(cand))) {
-                return exists(cand, args, index + 1, length);
+            Set<?>[] lookups = new Set<?>[args.length - 1];
+            for (int i = 0, j = 0, l = args.length; i < l; i++) {
+                if(i != probeIndex) {
+                    if(args[i].length == 0) {
+                        this.lookups = new Set<?>[0];
+                        this.probe = Arrays.copyOf(args[i], 0);
+                        return;
+                    }
+                    lookups[j++] = new HashSet<>(Arrays.asList(args[i]));
+                }
             }
+
+            //smaller lookups first, they rejects candidates faster.
+            Arrays.sort(lookups, Comparator.comparingInt(Set::size));
+            this.lookups = lookups;
+            this.probe = args[probeIndex];
         }
+    }
 
-        return false;
+    private boolean containsAll(I cand) {
+        for (Set<?> lookup : lookups) {
+            if(!lookup.contains(cand)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public boolean hasNext() {
-        if (next != null) {
-            return true;
-        } else if (index < args.length) {
-            I[] curr = args[index];
-            int len = curr.length;
-
-            if (len == 0) {
-                index++;
-                return hasNext();
-            } else if (cIndex < len) {
-                I cand = curr[cIndex++];
-                if (exists(cand, args, index + 1, args.length)) {
-                    next = cand;
-                    return true;
-                } else {
-                    return hasNext();
-                }
+        checkInit();
+        while (next == null && index < probe.length) {
+            I cand = probe[index++];
+            if(cand != null && containsAll(cand)) {
+                next = cand;
             }
         }
-        return false;
+        return next != null;
     }
 
     @Override
@@ -67,4 +87,19 @@ final class IteratorForIntersectionArray<I> implements Iterator<I> {
             throw new NoSuchElementException();
         }
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        checkInit();
+        if (next != null && !sink.push(next())) {
+            return false;
+        }
+        while (index < probe.length) {
+            I cand = probe[index++];
+            if (cand != null && containsAll(cand) && !sink.push(cand)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,216 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterators for long values used by {@link LongIterableResult},
+ * every element is read and write as primitive long (non boxing).
+ */
+final class IteratorForLong {
+
+    private IteratorForLong() { }
+
+    /**
+     * Iterate long array.
+     */
+    static final class ForArray implements PrimitiveIterator.OfLong {
+
+        private final long[] arr;
+        private int index;
+
+        ForArray(long[] arr) {
+            this.arr = Objects.requireNonNull(arr);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < arr.length;
+        }
+
+        @Override
+        public long nextLong() {
+            if(index == arr.length) {
+                throw new NoSuchElementException();
+            }
+            return arr[index++];
+        }
+    }
+
+    /**
+     * Mount long value from each element of iterator.
+     * @param <E> element type
+     */
+    static final class ForMount<E> implements PrimitiveIterator.OfLong {
+
+        private final Iterator<E> iterator;
+        private final CollectionHelper.FunctionMountToLong<E> mount;
+
+        ForMount(Iterator<E> iterator, CollectionHelper.FunctionMountToLong<E> mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            return mount.mount(iterator.next());
+        }
+    }
+
+    /**
+     * Filter long values.
+     */
+    static final class ForFilter implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong iterator;
+        private final CollectionHelper.CompareLongEntryValid where;
+        private long next;
+        private boolean hasNext;
+
+        ForFilter(PrimitiveIterator.OfLong iterator, CollectionHelper.CompareLongEntryValid where) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.where = Objects.requireNonNull(where);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasNext && iterator.hasNext()) {
+                long cand = iterator.nextLong();
+                if(where.isValid(cand)) {
+                    next = cand;
+                    hasNext = true;
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if(hasNext()) {
+                hasNext = false;
+                return next;
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Mount a new long value from each long value.
+     */
+    static final class ForSelect implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong iterator;
+        private final CollectionHelper.FunctionMountLong mount;
+
+        ForSelect(PrimitiveIterator.OfLong iterator, CollectionHelper.FunctionMountLong mount) {
+            this.iterator = Objects.requireNonNull(iterator);
+            this.mount = Objects.requireNonNull(mount);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            return mount.mount(iterator.nextLong());
+        }
+    }
+
+    /**
+     * Discard first values of iterator.
+     */
+    static final class ForJump implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong iterator;
+        private int count;
+
+        ForJump(PrimitiveIterator.OfLong iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (count > 0 && iterator.hasNext()) {
+                iterator.nextLong();
+                count--;
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            if(hasNext()) {
+                return iterator.nextLong();
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Take only first values of iterator.
+     */
+    static final class ForTake implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong iterator;
+        private int count;
+
+        ForTake(PrimitiveIterator.OfLong iterator, int count) {
+            if(count < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.iterator = Objects.requireNonNull(iterator);
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0 && iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            if(count == 0) {
+                throw new NoSuchElementException();
+            }
+            count--;
+            return iterator.nextLong();
+        }
+    }
+
+    /**
+     * Widening of int values to long.
+     */
+    static final class ForInt implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfInt iterator;
+
+        ForInt(PrimitiveIterator.OfInt iterator) {
+            this.iterator = Objects.requireNonNull(iterator);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            return iterator.nextInt();
+        }
+    }
+}
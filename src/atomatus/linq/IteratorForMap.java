@@ -7,9 +7,11 @@ abstract class IteratorForMap<K, V> implements IterableResultMap.IteratorMap<K,
 
     private static class LazyReadOnlyMap<IN, K, V> implements IterableMap<K, V> {
 
-        private Set<Entry<K, V>> set;
+        private transient Map<K, Entry<K, V>> index;
+        private transient Set<Entry<K, V>> set;
         private transient Set<K> keySet;
         private transient Collection<V> values;
+        private transient Set<V> valuesIndex;
         private final Iterable<IN> input;
         private final CollectionHelper.FunctionMount<IN, Entry<K, V>> mountFun;
 
@@ -19,42 +21,83 @@ abstract class IteratorForMap<K, V> implements IterableResultMap.IteratorMap<K,
             this.mountFun = mountFun;
         }
 
+        /**
+         * Entries indexed by key (on input order), mounted once on first request.
+         * @return entries by key
+         */
+        private synchronized Map<K, Entry<K, V>> getIndex() {
+            if (index == null) {
+                Map<K, Entry<K, V>> map = new LinkedHashMap<>();
+                IteratorForPush.forEachWhile(input, in -> {
+                    Entry<K, V> e = mountFun.mount(in);
+                    map.putIfAbsent(e.getKey(), e);
+                    return true;
+                });
+                index = map;
+            }
+            return index;
+        }
+
         private synchronized Set<Entry<K, V>> getSet() {
             if (set == null) {
-                set = CollectionHelper.select(input, mountFun).toSet();
+                Map<K, Entry<K, V>> map = getIndex();
+                set = new AbstractSet<Entry<K, V>>() {
+                    @Override
+                    public Iterator<Entry<K, V>> iterator() {
+                        return Collections.unmodifiableCollection(map.values()).iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return map.size();
+                    }
+
+                    @Override
+                    public boolean contains(Object o) {
+                        if (!(o instanceof Entry)) {
+                            return false;
+                        }
+                        Entry<?, ?> e = (Entry<?, ?>) o;
+                        Entry<K, V> curr = map.get(e.getKey());
+                        return curr != null && Objects.equals(curr.getKey(), e.getKey()) &&
+                                Objects.equals(curr.getValue(), e.getValue());
+                    }
+                };
             }
             return set;
         }
 
+        private synchronized Set<V> getValuesIndex() {
+            if (valuesIndex == null) {
+                valuesIndex = new HashSet<>(values());
+            }
+            return valuesIndex;
+        }
+
         @Override
         public int size() {
-            return getSet().size();
+            return getIndex().size();
         }
 
         @Override
         public boolean isEmpty() {
-            return getSet().isEmpty();
+            return getIndex().isEmpty();
         }
 
         @Override
         public boolean containsKey(Object key) {
-            throw new UnsupportedOperationException();
+            return getIndex().containsKey(key);
         }
 
         @Override
         public boolean containsValue(Object value) {
-            throw new UnsupportedOperationException();
+            return getValuesIndex().contains(value);
         }
 
         @Override
         public V get(Object key) {
-            for (Entry<K, V> entry : getSet()) {
-                K k = entry.getKey();
-                if (k == key || key.equals(k)) {
-                    return entry.getValue();
-                }
-            }
-            return null;
+            Entry<K, V> entry = getIndex().get(key);
+            return entry == null ? null : entry.getValue();
         }
 
         @Override
@@ -80,7 +123,7 @@ abstract class IteratorForMap<K, V> implements IterableResultMap.IteratorMap<K,
         @Override
         public Set<K> keySet() {
             if (keySet == null) {
-                keySet = CollectionHelper.select(getSet(), Entry::getKey).toSet();
+                keySet = Collections.unmodifiableSet(getIndex().keySet());
             }
             return keySet;
         }
@@ -123,7 +166,7 @@ abstract class IteratorForMap<K, V> implements IterableResultMap.IteratorMap<K,
 
         @Override
         public Iterator<K> iteratorKeys() {
-            return CollectionHelper.select(getSet(), Entry::getKey).iterator();
+            return keySet().iterator();
         }
 
         @Override
@@ -201,11 +244,24 @@ abstract class IteratorForMap<K, V> implements IterableResultMap.IteratorMap<K,
         return iterator;
     }
 
+    /**
+     * Discard current result, next request will init it again.
+     */
+    protected final synchronized void resetResult() {
+        result = null;
+        iterator = null;
+    }
+
     protected abstract IterableMap<K, V> initResult();
 
     @Override
     public IterableResult<K> keySet() {
         return new IterableResult<K>() {
+            @Override
+            int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+
             @Override
             public Iterator<K> iterator() {
                 return getResult().iteratorKeys();
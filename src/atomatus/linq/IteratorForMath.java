@@ -13,6 +13,18 @@ final class IteratorForMath {
         N calc(N n0, N n1);
     }
 
+    /**
+     * Max digits of a plain decimal read how an exact long (below 2^53) on double parse.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Exact double powers of ten.
+     */
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
     //region default Values
     private static int defaultInt() {
         return 0;
@@ -93,6 +105,8 @@ final class IteratorForMath {
             return (OUT) in;
         } else if (in instanceof Number) {
             return parseNumber((Number) in, resultClass);
+        } else if (in instanceof CharSequence && !(in instanceof String)) {
+            return parseNumber((CharSequence) in, resultClass);
         } else {
             return parseNumber(in.toString(), resultClass);
         }
@@ -120,6 +134,99 @@ final class IteratorForMath {
         }
     }
 
+    /**
+     * Parse int, long and double values reading chars of sequence (as field views), other types from its String.
+     */
+    private static <OUT extends Number> OUT parseNumber(CharSequence n, Class<OUT> resultClass) {
+        if (resultClass == Integer.class) {
+            return (OUT) Integer.valueOf(parseInt(n, 0, n.length()));
+        } else if (resultClass == Long.class) {
+            return (OUT) Long.valueOf(parseLong(n, 0, n.length()));
+        } else if (resultClass == Double.class) {
+            return (OUT) Double.valueOf(parseDouble(n, 0, n.length()));
+        } else {
+            return parseNumber(n.toString(), resultClass);
+        }
+    }
+
+    private static NumberFormatException numberFormat(CharSequence s, int start, int end) {
+        return new NumberFormatException("For input string: \"" + s.subSequence(start, end) + "\"");
+    }
+
+    /**
+     * Parse long from chars of sequence range, non creating a String (same rules of {@link Long#parseLong(String)}).
+     */
+    static long parseLong(CharSequence s, int start, int end) {
+        if (start >= end) {
+            throw numberFormat(s, start, end);
+        }
+
+        char c = s.charAt(start);
+        boolean negative = c == '-';
+        int i = negative || c == '+' ? start + 1 : start;
+        if (i == end) {
+            throw numberFormat(s, start, end);
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin || (result *= 10) < limit + digit) {
+                throw numberFormat(s, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse int from chars of sequence range, non creating a String (same rules of {@link Integer#parseInt(String)}).
+     */
+    static int parseInt(CharSequence s, int start, int end) {
+        long value = parseLong(s, start, end);
+        if ((int) value != value) {
+            throw numberFormat(s, start, end);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parse double from chars of sequence range. Plain decimals up to 15 digits are exact doubles
+     * divided by an exact power of ten (nearest double, non creating a String), others are parsed from its String.
+     */
+    static double parseDouble(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = i < end && s.charAt(i) == '-';
+        if (negative || (i < end && s.charAt(i) == '+')) {
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0, scale = -1;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9' && digits < MAX_EXACT_DIGITS) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(s.subSequence(start, end).toString());
+            }
+        }
+
+        if (digits == 0) {
+            return Double.parseDouble(s.subSequence(start, end).toString());
+        }
+        double d = scale <= 0 ? value : value / POW10[scale];
+        return negative ? -d : d;
+    }
+
     private static <OUT extends Number> OUT parseNumber(String n, Class<OUT> resultClass) {
         if (resultClass == Byte.class) {
             return (OUT) Byte.valueOf(n);
@@ -164,7 +271,7 @@ final class IteratorForMath {
         return IteratorForMath.sum(arr, IteratorForMath::InToOutEquals);
     }
 
-    private static <N extends Number> N sum(N n0, N n1) {
+    static <N extends Number> N sum(N n0, N n1) {
         if (n0 instanceof Short || n1 instanceof Short) {
             return calc(n0, n1, Number::intValue, IteratorForMath::defaultInt, IteratorForMath::sumInt);
         } else if (n0 instanceof Integer || n1 instanceof Integer) {
@@ -300,7 +407,7 @@ final class IteratorForMath {
                                         (e0.equals(e1) ? 0 : 1))));
     }
 
-    private static <E> E minValid(E e0, E e1){
+    static <E> E minValid(E e0, E e1){
         return e0 == null || compare(e0, e1) == 1 ? e1 : e0;
     }
 
@@ -327,7 +434,7 @@ final class IteratorForMath {
 
     //region max
 
-    private static <E> E maxValid(E e0, E e1){
+    static <E> E maxValid(E e0, E e1){
         return e0 == null || compare(e0, e1) == -1 ? e1 : e0;
     }
 
@@ -4,7 +4,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForMerge<I> implements Iterator<I> {
+final class IteratorForMerge<I> implements IteratorForPush.Source<I> {
 
     private int index;
     private Iterator<? extends I> curr;
@@ -44,4 +44,24 @@ final class IteratorForMerge<I> implements Iterator<I> {
             throw new NoSuchElementException();
         }
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        if(curr != null && !IteratorForPush.forEachWhile(curr, sink)) {
+            return false;
+        }
+
+        while (index < args.length) {
+            curr = args[index++].iterator();
+            if(!IteratorForPush.forEachWhile(curr, sink)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(curr);
+    }
 }
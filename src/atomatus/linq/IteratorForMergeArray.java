@@ -4,7 +4,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForMergeArray<I> implements Iterator<I>, CollectionHelper.FunctionMount<I, I> {
+final class IteratorForMergeArray<I> implements IteratorForPush.Source<I>, CollectionHelper.FunctionMount<I, I> {
 
     private int index;
     private Iterator<I> curr;
@@ -40,6 +40,21 @@ final class IteratorForMergeArray<I> implements Iterator<I>, CollectionHelper.Fu
         }
     }
 
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        if(curr != null && !IteratorForPush.forEachWhile(curr, sink)) {
+            return false;
+        }
+
+        while (index < args.length) {
+            curr = new IteratorForSelectArray<>(args[index++], this);
+            if(!IteratorForPush.forEachWhile(curr, sink)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public I mount(I i) {
         return i;
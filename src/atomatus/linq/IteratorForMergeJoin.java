@@ -0,0 +1,224 @@
+package atomatus.linq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Merge join of two sources ordered by key, both sides are streamed together
+ * keeping in memory only inner elements of current key. Elements with null key never match
+ * and are never compared, they are generated as unmatched by outer joins or skipped by inner join.
+ * Sides out of key order fail on first element out of order.
+ *
+ * @param <O> outer element type
+ * @param <I> inner element type
+ * @param <K> key type
+ * @param <R> generated element type
+ */
+final class IteratorForMergeJoin<O, I, K, R> implements Iterator<R> {
+
+    private final Iterator<O> outer;
+    private final Iterator<I> inner;
+    private final CollectionHelper.FunctionMount<O, K> outerKey;
+    private final CollectionHelper.FunctionMount<I, K> innerKey;
+    private final Comparator<? super K> comparator;
+    private final CollectionHelper.FunctionJoin<O, I, R> resultFun;
+    private final boolean leftOuter;
+    private final boolean rightOuter;
+    private final List<R> pending;
+    private int pendingIndex;
+
+    /**
+     * Inner elements of current inner key.
+     */
+    private final List<I> group;
+    private K groupKey;
+    private boolean groupMatched;
+
+    /**
+     * Next inner element, first one after group.
+     */
+    private I head;
+    private K headKey;
+    private boolean hasHead;
+
+    private K lastOuterKey;
+    private boolean hasLastOuter;
+    private boolean done;
+
+    private IteratorForMergeJoin(Iterator<O> outer,
+                                 Iterator<I> inner,
+                                 CollectionHelper.FunctionMount<O, K> outerKey,
+                                 CollectionHelper.FunctionMount<I, K> innerKey,
+                                 Comparator<? super K> comparator,
+                                 CollectionHelper.FunctionJoin<O, I, R> resultFun,
+                                 boolean leftOuter,
+                                 boolean rightOuter) {
+        this.outer      = outer;
+        this.inner      = inner;
+        this.outerKey   = outerKey;
+        this.innerKey   = innerKey;
+        this.comparator = comparator;
+        this.resultFun  = resultFun;
+        this.leftOuter  = leftOuter;
+        this.rightOuter = rightOuter;
+        this.pending    = new ArrayList<>();
+        this.group      = new ArrayList<>();
+        this.groupMatched = true;
+        readHead();
+    }
+
+    /**
+     * Join of sources ordered by key.
+     *
+     * @param outer      outer elements ordered by key
+     * @param inner      inner elements ordered by key
+     * @param outerKey   function to get key of outer elements
+     * @param innerKey   function to get key of inner elements
+     * @param comparator key comparator, of both sides order
+     * @param resultFun  function to mount element from each joined pair
+     * @param leftOuter  generate outer elements without match (paired with null inner)
+     * @param rightOuter generate inner elements without match (paired with null outer)
+     * @return new iterable result of joined elements.
+     */
+    static <O, I, K, R> IterableResult<R> join(Iterable<O> outer,
+                                               Iterable<I> inner,
+                                               CollectionHelper.FunctionMount<O, K> outerKey,
+                                               CollectionHelper.FunctionMount<I, K> innerKey,
+                                               Comparator<? super K> comparator,
+                                               CollectionHelper.FunctionJoin<O, I, R> resultFun,
+                                               boolean leftOuter,
+                                               boolean rightOuter) {
+        Objects.requireNonNull(outer);
+        Objects.requireNonNull(inner);
+        Objects.requireNonNull(outerKey);
+        Objects.requireNonNull(innerKey);
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(resultFun);
+        return new IterableResult<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                return new IteratorForMergeJoin<>(outer.iterator(), inner.iterator(),
+                        outerKey, innerKey, comparator, resultFun, leftOuter, rightOuter);
+            }
+        };
+    }
+
+    private static void checkOrder(int compare, String side) {
+        if (compare > 0) {
+            throw new IllegalStateException(side + " elements are not ordered by key!");
+        }
+    }
+
+    /**
+     * Read next inner element of non null key, inner elements of null key are generated
+     * as unmatched (right outer) or skipped, without comparing them.
+     */
+    private void readHead() {
+        while (inner.hasNext()) {
+            I i = inner.next();
+            K k = innerKey.mount(i);
+            if (k == null) {
+                if (rightOuter) {
+                    pending.add(resultFun.join(null, i));
+                }
+                continue;
+            }
+
+            if (hasHead) {
+                checkOrder(comparator.compare(headKey, k), "Inner");
+            }
+            head    = i;
+            headKey = k;
+            hasHead = true;
+            return;
+        }
+
+        head    = null;
+        headKey = null;
+        hasHead = false;
+    }
+
+    /**
+     * Release current group (generating unmatched inner elements) and read next inner key elements.
+     */
+    private void nextGroup() {
+        if (rightOuter && !groupMatched) {
+            for (I i : group) {
+                pending.add(resultFun.join(null, i));
+            }
+        }
+        group.clear();
+        groupKey = headKey;
+        groupMatched = false;
+        while (hasHead && (group.isEmpty() || comparator.compare(groupKey, headKey) == 0)) {
+            group.add(head);
+            readHead();
+        }
+    }
+
+    /**
+     * Join next outer element, or release remaining inner elements when outer side ends
+     * (inner join ends with inner side).
+     */
+    private void step() {
+        if (!outer.hasNext() || (!leftOuter && !rightOuter && group.isEmpty() && !hasHead)) {
+            while (rightOuter && (!group.isEmpty() || hasHead)) {
+                nextGroup();
+            }
+            done = true;
+            return;
+        }
+
+        O o = outer.next();
+        K k = outerKey.mount(o);
+        if (k == null) {
+            if (leftOuter) {
+                pending.add(resultFun.join(o, null));
+            }
+            return;
+        }
+
+        if (hasLastOuter) {
+            checkOrder(comparator.compare(lastOuterKey, k), "Outer");
+        }
+        lastOuterKey = k;
+        hasLastOuter = true;
+
+        while ((group.isEmpty() || comparator.compare(groupKey, k) < 0) && (!group.isEmpty() || hasHead)) {
+            nextGroup();
+        }
+
+        if (!group.isEmpty() && comparator.compare(groupKey, k) == 0) {
+            groupMatched = true;
+            for (I i : group) {
+                pending.add(resultFun.join(o, i));
+            }
+        } else if (leftOuter) {
+            pending.add(resultFun.join(o, null));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pendingIndex == pending.size() && !pending.isEmpty()) {
+            pending.clear();
+            pendingIndex = 0;
+        }
+        while (pending.isEmpty() && !done) {
+            step();
+        }
+        return pendingIndex < pending.size();
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.get(pendingIndex++);
+    }
+}
@@ -0,0 +1,113 @@
+package atomatus.linq;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Stable ordering of source elements, sorting all elements on a buffer
+ * or, when only first elements are requested (take), keeping them on a bounded heap.
+ */
+final class IteratorForOrder {
+
+    /**
+     * Minimum buffer length sorted on parallel.
+     */
+    static final int PARALLEL_SORT_MIN_LENGTH = 1 << 13;
+
+    private IteratorForOrder() { }
+
+    /**
+     * Element and its source index, used to keep equal elements on source order.
+     * @param <E> element type
+     */
+    private static final class Ranked<E> {
+        private final E value;
+        private final int index;
+
+        Ranked(E value, int index) {
+            this.value = value;
+            this.index = index;
+        }
+    }
+
+    //region comparator
+    static <E, C extends Comparable<C>> Comparator<E> comparing(CollectionHelper.FunctionMount<E, C> keyFun,
+                                                                 boolean descending) {
+        Objects.requireNonNull(keyFun);
+        Comparator<C> keyComparator = Comparator.nullsFirst(Comparator.<C>naturalOrder());
+        return Comparator.comparing(keyFun::mount, descending ? keyComparator.reversed() : keyComparator);
+    }
+    //endregion
+
+    //region sort
+    @SuppressWarnings("unchecked")
+    private static <E> Iterator<E> window(Object[] arr, int from, int to) {
+        return from >= to ? Collections.emptyIterator() :
+                Arrays.asList((E[]) arr).subList(from, to).iterator();
+    }
+
+    private static int end(int length, int skip, int limit) {
+        return limit == IteratorForSlice.NO_LIMIT ? length : (int) Math.min(length, (long) skip + limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> Iterator<E> sort(Iterable<E> source, Comparator<? super E> comparator, int skip, int limit) {
+        Object[] buffer = source instanceof Collection ?
+                ((Collection<E>) source).toArray() :
+                CollectionHelper.toList(source).toArray();
+        Comparator<Object> c = (Comparator<Object>) comparator;
+        if (buffer.length >= PARALLEL_SORT_MIN_LENGTH) {
+            Arrays.parallelSort(buffer, c);
+        } else {
+            Arrays.sort(buffer, c);
+        }
+        return window(buffer, skip, end(buffer.length, skip, limit));
+    }
+    //endregion
+
+    //region top
+    /**
+     * Ordered first (skip + limit) elements, keeping only them on a bounded heap
+     * which head is the greatest kept element.
+     */
+    static <E> Iterator<E> top(Iterable<E> source, Comparator<? super E> comparator, int skip, int limit) {
+        long k = (long) skip + limit;
+        if (k == 0) {
+            return Collections.emptyIterator();
+        } else if (k > Integer.MAX_VALUE || (IterableResultPlan.isSized(source) && IterableResultPlan.sizeOf(source) <= k)) {
+            return sort(source, comparator, skip, limit);
+        }
+
+        Comparator<Ranked<E>> rank = (r0, r1) -> {
+            int c = comparator.compare(r0.value, r1.value);
+            return c != 0 ? c : Integer.compare(r0.index, r1.index);
+        };
+        PriorityQueue<Ranked<E>> heap = new PriorityQueue<>((int) k, rank.reversed());
+        int[] index = {0};
+        IteratorForPush.forEachWhile(source, e -> {
+            int i = index[0]++;
+            if (heap.size() < k) {
+                heap.add(new Ranked<>(e, i));
+            } else if (comparator.compare(e, heap.peek().value) < 0) {
+                heap.poll();
+                heap.add(new Ranked<>(e, i));
+            }
+            return true;
+        });
+
+        Object[] buffer = heap.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> c = (Comparator<Object>) (Comparator<?>) rank;
+        Arrays.sort(buffer, c);
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = ((Ranked<?>) buffer[i]).value;
+        }
+        return window(buffer, skip, buffer.length);
+    }
+    //endregion
+}
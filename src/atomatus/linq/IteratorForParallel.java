@@ -0,0 +1,335 @@
+package atomatus.linq;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Execute terminal actions of {@link IterableResultRange} on parallel mode,
+ * splitting source range in fork-join tasks and merging each partial result.
+ */
+final class IteratorForParallel {
+
+    /**
+     * Minimum count of source elements on each task.
+     */
+    static final int MIN_CHUNK_SIZE = 1 << 11;
+
+    private IteratorForParallel() { }
+
+    /**
+     * Task splitting range in halves until chunk size,
+     * empty chunks result null and are not merged.
+     *
+     * @param <E> element type
+     * @param <A> partial result type
+     */
+    private static final class RangeTask<E, A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IterableResultRange<E> range;
+        private final CollectionHelper.FunctionMount<Iterator<E>, A> chunkFun;
+        private final CollectionHelper.FunctionReduce<A, A> combiner;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        RangeTask(IterableResultRange<E> range,
+                  CollectionHelper.FunctionMount<Iterator<E>, A> chunkFun,
+                  CollectionHelper.FunctionReduce<A, A> combiner,
+                  int from, int to, int chunkSize) {
+            this.range      = range;
+            this.chunkFun   = chunkFun;
+            this.combiner   = combiner;
+            this.from       = from;
+            this.to         = to;
+            this.chunkSize  = chunkSize;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunkSize) {
+                Iterator<E> it = range.iterator(from, to);
+                return it.hasNext() ? chunkFun.mount(it) : null;
+            }
+
+            int mid = (from + to) >>> 1;
+            RangeTask<E, A> left = new RangeTask<>(range, chunkFun, combiner, from, mid, chunkSize);
+            RangeTask<E, A> right = new RangeTask<>(range, chunkFun, combiner, mid, to, chunkSize);
+            left.fork();
+            A r = right.compute();
+            A l = left.join();
+            return l == null ? r : r == null ? l : combiner.reduce(l, r);
+        }
+    }
+
+    private static <E, A> A execute(IterableResultRange<E> range,
+                                    CollectionHelper.FunctionMount<Iterator<E>, A> chunkFun,
+                                    CollectionHelper.FunctionReduce<A, A> combiner) {
+        Objects.requireNonNull(range);
+        int length = range.length();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, length / (ForkJoinPool.getCommonPoolParallelism() << 2) + 1);
+        return new RangeTask<>(range, chunkFun, combiner, 0, length, chunkSize).invoke();
+    }
+
+    //region count
+    static <E> int count(IterableResultRange<E> range) {
+        Integer count = execute(range, it -> {
+            int[] c = {0};
+            IteratorForPush.forEachWhile(it, e -> {
+                c[0]++;
+                return true;
+            });
+            return c[0];
+        }, (acc, curr) -> acc + curr);
+        return count == null ? 0 : count;
+    }
+    //endregion
+
+    //region sum
+    static <E, OUT extends Number> OUT sum(IterableResultRange<E> range, CollectionHelper.FunctionMount<E, OUT> fun) {
+        Objects.requireNonNull(fun);
+        OUT sum = execute(range, it -> IteratorForMath.sum(it, fun), (acc, curr) -> IteratorForMath.sum(acc, curr));
+        return sum == null ? fun.mount(null) : sum;
+    }
+    //endregion
+
+    //region min and max
+    static <E, OUT> OUT min(IterableResultRange<E> range, CollectionHelper.FunctionMount<E, OUT> fun) {
+        Objects.requireNonNull(fun);
+        return execute(range, it -> IteratorForMath.min(it, fun), IteratorForMath::minValid);
+    }
+
+    static <E, OUT> OUT max(IterableResultRange<E> range, CollectionHelper.FunctionMount<E, OUT> fun) {
+        Objects.requireNonNull(fun);
+        return execute(range, it -> IteratorForMath.max(it, fun), IteratorForMath::maxValid);
+    }
+    //endregion
+
+    //region reduce
+    static <E, OUT> OUT reduce(IterableResultRange<E> range,
+                               CollectionHelper.FunctionReduce<E, OUT> reduceFun,
+                               CollectionHelper.FunctionReduce<OUT, OUT> combiner,
+                               OUT acc) {
+        Objects.requireNonNull(reduceFun);
+        Objects.requireNonNull(combiner);
+        OUT result = execute(range, it -> IteratorForReduce.reduce(it, reduceFun, acc), combiner);
+        return result == null ? acc : result;
+    }
+    //endregion
+
+    //region toList
+    static <E> List<E> toList(IterableResultRange<E> range) {
+        List<E> list = execute(range, it -> {
+            List<E> l = new ArrayList<>();
+            it.forEachRemaining(l::add);
+            return l;
+        }, (acc, curr) -> {
+            acc.addAll(curr);
+            return acc;
+        });
+        return list == null ? new ArrayList<>() : list;
+    }
+    //endregion
+
+    //region join
+    static <E, R> List<R> probe(IterableResultRange<E> range, CollectionHelper.FunctionReduce<E, List<R>> probeFun) {
+        Objects.requireNonNull(probeFun);
+        List<R> list = execute(range, it -> IteratorForReduce.reduce(it, probeFun, new ArrayList<>()), (acc, curr) -> {
+            acc.addAll(curr);
+            return acc;
+        });
+        return list == null ? new ArrayList<>() : list;
+    }
+    //endregion
+
+    //region partitioned tables
+    /**
+     * Merge of partial tables on partition range, splitting partitions in halves.
+     *
+     * @param <K> key type
+     * @param <T> table value type
+     */
+    private static final class PartitionTask<K, T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<Map.Entry<K, T>>[]> chunks;
+        private final Map<K, T>[] tables;
+        private final CollectionHelper.FunctionReduce<T, T> combiner;
+        private final int from;
+        private final int to;
+
+        PartitionTask(List<List<Map.Entry<K, T>>[]> chunks,
+                      Map<K, T>[] tables,
+                      CollectionHelper.FunctionReduce<T, T> combiner,
+                      int from, int to) {
+            this.chunks     = chunks;
+            this.tables     = tables;
+            this.combiner   = combiner;
+            this.from       = from;
+            this.to         = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PartitionTask<>(chunks, tables, combiner, from, mid),
+                        new PartitionTask<>(chunks, tables, combiner, mid, to));
+                return;
+            }
+
+            Map<K, T> table = new LinkedHashMap<>();
+            for (List<Map.Entry<K, T>>[] chunk : chunks) {
+                for (Map.Entry<K, T> e : chunk[from]) {
+                    table.merge(e.getKey(), e.getValue(), combiner::reduce);
+                }
+            }
+            tables[from] = table;
+        }
+    }
+
+    /**
+     * Partition of key, from high bits of key hash (low bits are used by each partition table).
+     */
+    private static int partitionOf(Object key, int bits) {
+        return bits == 0 ? 0 : (Objects.hashCode(key) * 0x9E3779B9) >>> (Integer.SIZE - bits);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, T> List<Map.Entry<K, T>>[] split(Map<K, T> table, int bits) {
+        List<Map.Entry<K, T>>[] partitions = new List[1 << bits];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new ArrayList<>();
+        }
+
+        for (Map.Entry<K, T> e : table.entrySet()) {
+            partitions[partitionOf(e.getKey(), bits)].add(e);
+        }
+        return partitions;
+    }
+
+    /**
+     * Group source on two parallel phases without a sequential merge:
+     * each chunk builds a thread-local partial table split by key partition,
+     * then each partition merges partial tables of all chunks (on source order).
+     * Each key is only on one partition, so partition tables are disjoint.
+     *
+     * @param range    source range
+     * @param chunkFun function to build partial table of a chunk
+     * @param combiner function to merge two partial values of same key
+     * @param <E>      element type
+     * @param <K>      key type
+     * @param <T>      table value type
+     * @return disjoint partition tables
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E, K, T> Map<K, T>[] partitioned(IterableResultRange<E> range,
+                                                     CollectionHelper.FunctionMount<Iterator<E>, Map<K, T>> chunkFun,
+                                                     CollectionHelper.FunctionReduce<T, T> combiner) {
+        int bits = Integer.SIZE - Integer.numberOfLeadingZeros((ForkJoinPool.getCommonPoolParallelism() << 2) - 1);
+        List<List<Map.Entry<K, T>>[]> chunks = execute(range, it -> {
+            List<List<Map.Entry<K, T>>[]> l = new ArrayList<>(1);
+            l.add(split(chunkFun.mount(it), bits));
+            return l;
+        }, (acc, curr) -> {
+            acc.addAll(curr);
+            return acc;
+        });
+
+        if (chunks == null) {
+            return new Map[0];
+        }
+
+        Map<K, T>[] tables = new Map[1 << bits];
+        new PartitionTask<>(chunks, tables, combiner, 0, tables.length).invoke();
+        return tables;
+    }
+    //endregion
+
+    //region groupBy
+    static <K, V> Iterable<Map.Entry<K, IterableResult<V>>> groupBy(IterableResultRange<V> range,
+                                                                 CollectionHelper.FunctionMount<V, K> groupFun) {
+        Objects.requireNonNull(groupFun);
+        Map<K, List<V>>[] tables = partitioned(range, it -> {
+            Map<K, List<V>> m = new LinkedHashMap<>();
+            IteratorForPush.forEachWhile(it, v -> m.computeIfAbsent(groupFun.mount(v), k -> new ArrayList<>()).add(v));
+            return m;
+        }, (acc, curr) -> {
+            acc.addAll(curr);
+            return acc;
+        });
+
+        int size = 0;
+        for (Map<K, List<V>> table : tables) {
+            size += table.size();
+        }
+
+        List<Map.Entry<K, IterableResult<V>>> entries = new ArrayList<>(size);
+        for (Map<K, List<V>> table : tables) {
+            for (Map.Entry<K, List<V>> e : table.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(),
+                        CollectionHelper.select(e.getValue(), v -> v)));
+            }
+        }
+        return entries;
+    }
+    //endregion
+
+    //region tasks
+    /**
+     * Execute count independent tasks (by index) on common ForkJoinPool.
+     *
+     * @param count   count of tasks
+     * @param taskFun function to execute task of index
+     * @param <A>     task result type
+     * @return result of each task, on index order
+     */
+    static <A> List<A> execute(int count, CollectionHelper.FunctionMount<Integer, A> taskFun) {
+        Objects.requireNonNull(taskFun);
+        List<RecursiveTask<A>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(new RecursiveTask<A>() {
+                @Override
+                protected A compute() {
+                    return taskFun.mount(index);
+                }
+            });
+        }
+
+        List<A> results = new ArrayList<>(count);
+        for (RecursiveTask<A> task : ForkJoinTask.invokeAll(tasks)) {
+            results.add(task.join());
+        }
+        return results;
+    }
+    //endregion
+
+    //region aggregate
+    static <K, V> Map<K, Object[]> aggregate(IterableResultRange<V> range,
+                                             CollectionHelper.FunctionMount<V, K> groupFun,
+                                             Aggregator<V, ?, ?>[] aggregators) {
+        Objects.requireNonNull(groupFun);
+        Map<K, Object[]>[] tables = partitioned(range,
+                it -> IteratorForAggregate.accumulate(it, groupFun, aggregators),
+                (acc, curr) -> IteratorForAggregate.combine(acc, curr, aggregators));
+
+        Map<K, Object[]> map = new LinkedHashMap<>();
+        for (Map<K, Object[]> table : tables) {
+            map.putAll(table);
+        }
+        return map;
+    }
+    //endregion
+}
@@ -0,0 +1,126 @@
+package atomatus.linq;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Push (internal) iteration of stages, each element is pushed by source
+ * to next stage until end or until sink request stop (short-circuit).
+ * Iterators not implementing {@link Source} are pulled by hasNext/next.
+ * Iterators holding resources until they end (as spill files) are {@link Closeable},
+ * stages close their source iterator and terminal operations close iterator when traversal ends or stops.
+ */
+final class IteratorForPush {
+
+    private IteratorForPush() { }
+
+    /**
+     * Receive each element pushed by source.
+     * @param <I> element type
+     */
+    interface Sink<I> {
+        /**
+         * Receive element.
+         * @param e element
+         * @return false to stop traversal, otherwise true.
+         */
+        boolean push(I e);
+    }
+
+    /**
+     * Iterator able to push all remaining elements to a sink.
+     * @param <I> element type
+     */
+    interface Source<I> extends Iterator<I>, Closeable {
+
+        /**
+         * Release resources of source iterator, by default none.
+         */
+        @Override
+        default void close() { }
+
+        /**
+         * Push each remaining element to sink while sink accept it.
+         * @param sink target
+         * @return false when sink stopped traversal, otherwise true.
+         */
+        boolean forEachWhile(Sink<? super I> sink);
+
+        @Override
+        default void forEachRemaining(Consumer<? super I> action) {
+            Objects.requireNonNull(action);
+            forEachWhile(e -> {
+                action.accept(e);
+                return true;
+            });
+        }
+    }
+
+    //region forEachWhile
+    @SuppressWarnings("unchecked")
+    static <I> boolean forEachWhile(Iterator<? extends I> iterator, Sink<? super I> sink) {
+        if (iterator instanceof Source) {
+            return ((Source<I>) iterator).forEachWhile(sink);
+        }
+
+        while (iterator.hasNext()) {
+            if (!sink.push(iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static <I> boolean forEachWhile(Iterable<? extends I> iterable, Sink<? super I> sink) {
+        Iterator<? extends I> iterator = Objects.requireNonNull(iterable).iterator();
+        try {
+            return forEachWhile(iterator, Objects.requireNonNull(sink));
+        } finally {
+            close(iterator);
+        }
+    }
+    //endregion
+
+    //region close
+    /**
+     * Close iterator when it is closeable (releasing resources held until its end), otherwise nothing.
+     *
+     * @param iterator target, maybe null.
+     */
+    static void close(Iterator<?> iterator) {
+        if (iterator instanceof Closeable) {
+            try {
+                ((Closeable) iterator).close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+    //endregion
+
+    //region terminal
+    static <I> int count(Iterable<I> iterable, CollectionHelper.CompareEntryValid<I> where) {
+        int[] count = {0};
+        forEachWhile(iterable, e -> {
+            if (where == null || where.isValid(e)) {
+                count[0]++;
+            }
+            return true;
+        });
+        return count[0];
+    }
+
+    static <I> boolean all(Iterable<I> iterable, CollectionHelper.CompareEntryValid<I> action) {
+        Objects.requireNonNull(action);
+        return forEachWhile(iterable, action::isValid);
+    }
+
+    static <I> boolean any(Iterable<I> iterable, CollectionHelper.CompareEntryValid<I> action) {
+        Objects.requireNonNull(action);
+        return !forEachWhile(iterable, e -> !action.isValid(e));
+    }
+    //endregion
+}
@@ -5,25 +5,44 @@ import java.util.Objects;
 
 final class IteratorForReduce {
 
-    @SuppressWarnings({"unchecked", "CatchMayIgnoreException"})
-    static <IN, OUT> OUT reduce(Iterator<IN> iterator,
-                                CollectionHelper.FunctionReduce<IN, OUT> reduceFun,
-                                OUT acc) {
-        Objects.requireNonNull(iterator);
-        Objects.requireNonNull(reduceFun);
-        boolean first = acc == null;
-        while (iterator.hasNext()) {
-            IN next = iterator.next();
+    /**
+     * Sink accumulating each pushed element.
+     */
+    private static final class Accumulator<IN, OUT> implements IteratorForPush.Sink<IN> {
+
+        private final CollectionHelper.FunctionReduce<IN, OUT> reduceFun;
+        private boolean first;
+        private OUT acc;
+
+        Accumulator(CollectionHelper.FunctionReduce<IN, OUT> reduceFun, OUT acc) {
+            this.reduceFun = reduceFun;
+            this.acc = acc;
+            this.first = acc == null;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "CatchMayIgnoreException"})
+        public boolean push(IN next) {
             if(first) {
                 first = false;
                 try {
                     acc = (OUT) next;
-                    continue;
+                    return true;
                 }catch (ClassCastException ex) { }
             }
             acc = reduceFun.reduce(acc, next);
+            return true;
         }
-        return acc;
+    }
+
+    static <IN, OUT> OUT reduce(Iterator<IN> iterator,
+                                CollectionHelper.FunctionReduce<IN, OUT> reduceFun,
+                                OUT acc) {
+        Objects.requireNonNull(iterator);
+        Objects.requireNonNull(reduceFun);
+        Accumulator<IN, OUT> accumulator = new Accumulator<>(reduceFun, acc);
+        IteratorForPush.forEachWhile(iterator, accumulator);
+        return accumulator.acc;
     }
 
     static <IN, OUT> OUT reduce(Iterable<IN> iterable,
@@ -3,7 +3,7 @@ package atomatus.linq;
 import java.util.Iterator;
 import java.util.Objects;
 
-final class IteratorForSelect<IN, OUT> implements Iterator<OUT> {
+final class IteratorForSelect<IN, OUT> implements IteratorForPush.Source<OUT> {
 
     private final CollectionHelper.FunctionGet<Iterator<IN>> iteratorFun;
     private final CollectionHelper.FunctionMount<IN, OUT> mount;
@@ -31,4 +31,15 @@ final class IteratorForSelect<IN, OUT> implements Iterator<OUT> {
         checkInit();
         return mount.mount(iterator.next());
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super OUT> sink) {
+        checkInit();
+        return IteratorForPush.forEachWhile(iterator, e -> sink.push(mount.mount(e)));
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(iterator);
+    }
 }
@@ -1,10 +1,9 @@
 package atomatus.linq;
 
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-final class IteratorForSelectArray<IN, OUT> implements Iterator<OUT> {
+final class IteratorForSelectArray<IN, OUT> implements IteratorForPush.Source<OUT> {
 
     private final class DefaultFunctionMount implements CollectionHelper.FunctionMount<IN, OUT> {
         @Override
@@ -16,30 +15,53 @@ final class IteratorForSelectArray<IN, OUT> implements Iterator<OUT> {
 
     private final IN[] arr;
     private final CollectionHelper.FunctionMount<IN, OUT> mount;
+    private final int to;
 
     private OUT next;
     private int index;
 
+    IteratorForSelectArray(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount, int from, int to) {
+        if(from < 0 || from > to || to > Objects.requireNonNull(arr).length) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.arr = arr;
+        this.mount = Objects.requireNonNull(mount);
+        this.index = from;
+        this.to = to;
+    }
+
     IteratorForSelectArray(IN[] arr, CollectionHelper.FunctionMount<IN, OUT> mount) {
         this.arr = Objects.requireNonNull(arr);
         this.mount = Objects.requireNonNull(mount);
+        this.to = arr.length;
     }
 
     IteratorForSelectArray(IN[] arr){
         this.arr = arr;
         this.mount = new DefaultFunctionMount();
+        this.to = arr.length;
     }
 
     @Override
     public boolean hasNext() {
-        return index < arr.length;
+        return index < to;
     }
 
     @Override
     public OUT next() {
-        if(index == arr.length){
+        if(index == to){
             throw new NoSuchElementException();
         }
         return mount.mount(arr[index++]);
     }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super OUT> sink) {
+        while (index < to) {
+            if(!sink.push(mount.mount(arr[index++]))) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
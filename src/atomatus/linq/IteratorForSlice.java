@@ -0,0 +1,81 @@
+package atomatus.linq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Discard first elements (jump) and take only an amount of
+ * next elements (take) in a single stage.
+ * @param <I> element type
+ */
+final class IteratorForSlice<I> implements IteratorForPush.Source<I> {
+
+    /**
+     * Take without limit, only jump elements.
+     */
+    static final int NO_LIMIT = -1;
+
+    private final CollectionHelper.FunctionGet<Iterator<I>> colFun;
+    private final int skip;
+    private final int limit;
+    private Iterator<I> iterator;
+    private int index;
+
+    IteratorForSlice(CollectionHelper.FunctionGet<Iterator<I>> colFun, int skip, int limit) {
+        if(skip < 0 || limit < NO_LIMIT) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.colFun = Objects.requireNonNull(colFun);
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    private void checkInit(){
+        if(iterator == null) {
+            iterator = colFun.get();
+            for(int i = 0; i < skip && iterator.hasNext(); i++) {
+                iterator.next();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        this.checkInit();
+        return (limit == NO_LIMIT || index < limit) && iterator.hasNext();
+    }
+
+    @Override
+    public I next() {
+        this.checkInit();
+        if(limit != NO_LIMIT && index == limit){
+            throw new NoSuchElementException();
+        }
+        index++;
+        return iterator.next();
+    }
+
+    @Override
+    public boolean forEachWhile(IteratorForPush.Sink<? super I> sink) {
+        this.checkInit();
+        if(limit == NO_LIMIT) {
+            return IteratorForPush.forEachWhile(iterator, sink);
+        } else if(index == limit) {
+            return true;
+        }
+
+        boolean[] open = {true};
+        IteratorForPush.forEachWhile(iterator, e -> {
+            index++;
+            return (open[0] = sink.push(e)) && index < limit;
+        });
+        return open[0];
+    }
+
+    @Override
+    public void close() {
+        IteratorForPush.close(iterator);
+    }
+}
@@ -0,0 +1,523 @@
+package atomatus.linq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Group elements by key under a memory budget (hybrid hash grouping),
+ * elements are grouped in memory until budget, then all of them are hashed by key
+ * out to partition files. Each partition is grouped in turn, partitions larger than budget
+ * are partitioned again by other key hash bits. Group values read members of its partition on demand,
+ * keeping only one partition in memory.
+ * Partitions still larger than budget on last level (few keys holding most elements) are sorted by key hash
+ * (external merge sort) and written again with members of each key adjacent (a segment),
+ * then group values read only their segment.
+ *
+ * @param <K> key type
+ * @param <V> element type
+ */
+final class IteratorForSpill<K, V> {
+
+    /**
+     * Max partitioning levels, partitions still larger than budget on last level are sorted by key hash.
+     */
+    private static final int MAX_DEPTH = 3;
+
+    /**
+     * Count of elements written on an object stream before reset it (release stream handles).
+     */
+    private static final int RESET_INTERVAL = 1 << 10;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Spill file of elements of same key partition.
+     */
+    private static final class Partition {
+        private final File file;
+        private final int depth;
+        private int count;
+
+        Partition(File file, int depth) {
+            this.file   = file;
+            this.depth  = depth;
+        }
+    }
+
+    /**
+     * Members of a key written adjacent on a file, from offset (an object stream of count elements).
+     */
+    private static final class Segment {
+        private final File file;
+        private final long offset;
+        private final int count;
+
+        Segment(File file, long offset, int count) {
+            this.file   = file;
+            this.offset = offset;
+            this.count  = count;
+        }
+    }
+
+    /**
+     * Writer of elements on each partition file of a level.
+     */
+    private final class PartitionWriter {
+
+        private final Partition[] partitions;
+        private final ObjectOutputStream[] streams;
+        private final int depth;
+
+        PartitionWriter(int depth) {
+            this.depth      = depth;
+            this.partitions = new Partition[spill.getPartitions()];
+            this.streams    = new ObjectOutputStream[partitions.length];
+        }
+
+        void write(K key, V value) {
+            int i = partitionOf(key, depth);
+            try {
+                ObjectOutputStream out = streams[i];
+                if (out == null) {
+                    Partition p = partitions[i] = new Partition(createFile(), depth);
+                    out = streams[i] = new ObjectOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(p.file), BUFFER_SIZE));
+                } else if (partitions[i].count % RESET_INTERVAL == 0) {
+                    out.reset();
+                }
+                spill.getCodec().write(out, value);
+                partitions[i].count++;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        List<Partition> close() {
+            List<Partition> list = new ArrayList<>();
+            for (int i = 0; i < streams.length; i++) {
+                if (streams[i] != null) {
+                    try {
+                        streams[i].close();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                    list.add(partitions[i]);
+                }
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Writer of segments on a single file, each segment starts a new object stream
+     * on file position, then it is read alone.
+     */
+    private final class SegmentWriter implements Closeable {
+
+        private final File file;
+        private final FileOutputStream fileOut;
+        private final BufferedOutputStream buffer;
+        private ObjectOutputStream out;
+        private long offset;
+        private int count;
+
+        SegmentWriter() throws IOException {
+            this.file       = createFile();
+            this.fileOut    = new FileOutputStream(file);
+            this.buffer     = new BufferedOutputStream(fileOut, BUFFER_SIZE);
+        }
+
+        void begin() throws IOException {
+            buffer.flush();
+            offset  = fileOut.getChannel().position();
+            count   = 0;
+            out     = new ObjectOutputStream(buffer);
+        }
+
+        void write(V value) throws IOException {
+            if (count > 0 && count % RESET_INTERVAL == 0) {
+                out.reset();
+            }
+            spill.getCodec().write(out, value);
+            count++;
+        }
+
+        Segment end() throws IOException {
+            out.flush();
+            out = null;
+            return new Segment(file, offset, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffer.close();
+        }
+    }
+
+    /**
+     * Reader of partition or segment elements, closed on end or by close (when abandoned before end).
+     */
+    private final class PartitionReader implements Iterator<V>, Closeable {
+
+        private final ObjectInputStream in;
+        private int remaining;
+
+        PartitionReader(Partition partition) {
+            this(partition.file, 0, partition.count);
+        }
+
+        PartitionReader(Segment segment) {
+            this(segment.file, segment.offset, segment.count);
+        }
+
+        private PartitionReader(File file, long offset, int count) {
+            FileInputStream fileIn = null;
+            try {
+                fileIn = new FileInputStream(file);
+                fileIn.getChannel().position(offset);
+                this.in = new ObjectInputStream(new BufferedInputStream(fileIn, BUFFER_SIZE));
+            } catch (IOException e) {
+                closeQuietly(fileIn);
+                throw new RuntimeException(e);
+            }
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining > 0) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                remaining--;
+                return (V) spill.getCodec().read(in);
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            remaining = 0;
+            closeQuietly(in);
+        }
+    }
+
+    private final Iterable<V> source;
+    private final CollectionHelper.FunctionMount<V, K> groupFun;
+    private final Spill<? super V> spill;
+    private final List<File> spilled;
+    private final Object lock;
+    private Partition loaded;
+    private Map<K, List<V>> loadedGroups;
+
+    private IteratorForSpill(Iterable<V> source,
+                             CollectionHelper.FunctionMount<V, K> groupFun,
+                             Spill<? super V> spill) {
+        this.source     = source;
+        this.groupFun   = groupFun;
+        this.spill      = spill;
+        this.spilled    = Collections.synchronizedList(new ArrayList<>());
+        this.lock       = new Object();
+    }
+
+    /**
+     * Group entries function, each request groups source again. Spill files of each request are deleted
+     * once its entries (and group values read from them) are unreachable.
+     *
+     * @param source   source
+     * @param groupFun group function to get grouping key.
+     * @param spill    spill policy
+     * @param <K>      key type
+     * @param <V>      element type
+     * @return group entries function
+     */
+    static <K, V> CollectionHelper.FunctionGet<Iterable<Map.Entry<K, IterableResult<V>>>> groupBy(
+            Iterable<V> source,
+            CollectionHelper.FunctionMount<V, K> groupFun,
+            Spill<? super V> spill) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(groupFun);
+        Objects.requireNonNull(spill);
+        return () -> {
+            IteratorForSpill<K, V> s = new IteratorForSpill<>(source, groupFun, spill);
+            Spill.deleteWhenUnreachable(s, s.spilled);
+            try {
+                return s.group();
+            } catch (RuntimeException | Error e) {
+                s.delete();
+                throw e;
+            }
+        };
+    }
+
+    private File createFile() throws IOException {
+        File file = spill.createFile("group");
+        synchronized (lock) {
+            spilled.add(file);
+        }
+        return file;
+    }
+
+    /**
+     * Partition of key on level, each level uses other bits of key hash.
+     */
+    private int partitionOf(K key, int depth) {
+        int bits = Integer.numberOfTrailingZeros(spill.getPartitions());
+        return Integer.rotateLeft(Objects.hashCode(key) * 0x9E3779B9, depth * bits) >>> (Integer.SIZE - bits);
+    }
+
+    //region group
+    /**
+     * Group elements in memory until budget, then write each element on partition of its key.
+     */
+    private final class Spiller implements IteratorForPush.Sink<V> {
+
+        private final Map<K, List<V>> groups;
+        private PartitionWriter writer;
+        private int count;
+
+        Spiller() {
+            this.groups = new LinkedHashMap<>();
+        }
+
+        @Override
+        public boolean push(V v) {
+            K k = groupFun.mount(v);
+            if (writer != null) {
+                writer.write(k, v);
+            } else {
+                groups.computeIfAbsent(k, key -> new ArrayList<>()).add(v);
+                if (++count > spill.getBudget()) {
+                    writer = new PartitionWriter(0);
+                    for (Map.Entry<K, List<V>> e : groups.entrySet()) {
+                        for (V value : e.getValue()) {
+                            writer.write(e.getKey(), value);
+                        }
+                    }
+                    groups.clear();
+                }
+            }
+            return true;
+        }
+    }
+
+    private List<Map.Entry<K, IterableResult<V>>> group() {
+        Spiller spiller = new Spiller();
+        IteratorForPush.forEachWhile(source, spiller);
+
+        List<Map.Entry<K, IterableResult<V>>> entries = new ArrayList<>();
+        if (spiller.writer == null) {
+            for (Map.Entry<K, List<V>> e : spiller.groups.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(),
+                        CollectionHelper.select(e.getValue(), v -> v)));
+            }
+        } else {
+            for (Partition p : spiller.writer.close()) {
+                group(p, entries);
+            }
+        }
+        return entries;
+    }
+
+    private Iterable<V> read(Partition partition) {
+        return () -> new PartitionReader(partition);
+    }
+
+    private void group(Partition partition, List<Map.Entry<K, IterableResult<V>>> entries) {
+        if (partition.count > spill.getBudget()) {
+            if (partition.depth < MAX_DEPTH) {
+                PartitionWriter writer = new PartitionWriter(partition.depth + 1);
+                IteratorForPush.forEachWhile(read(partition), v -> {
+                    writer.write(groupFun.mount(v), v);
+                    return true;
+                });
+                delete(partition.file);
+                for (Partition p : writer.close()) {
+                    group(p, entries);
+                }
+            } else {
+                segment(partition, entries);
+            }
+            return;
+        }
+
+        for (K key : load(partition).keySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, new IterableResult<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    List<V> members = load(partition).get(key);
+                    return members == null ? Collections.<V>emptyIterator() : members.iterator();
+                }
+            }));
+        }
+    }
+
+    private Map<K, List<V>> load(Partition partition) {
+        synchronized (lock) {
+            if (loaded != partition) {
+                loadedGroups = null;
+                Map<K, List<V>> groups = new LinkedHashMap<>();
+                IteratorForPush.forEachWhile(read(partition), v -> {
+                    groups.computeIfAbsent(groupFun.mount(v), key -> new ArrayList<>()).add(v);
+                    return true;
+                });
+                loaded = partition;
+                loadedGroups = groups;
+            }
+            return loadedGroups;
+        }
+    }
+    //endregion
+
+    //region segment
+    /**
+     * Sort partition by key hash (stable, members keep source order) and write members of each key
+     * on a segment of a single file. Keys sharing same hash (collisions) are written apart
+     * and read again for each of them, they are few.
+     */
+    private void segment(Partition partition, List<Map.Entry<K, IterableResult<V>>> entries) {
+        Comparator<V> byHash = (v0, v1) ->
+                Integer.compare(Objects.hashCode(groupFun.mount(v0)), Objects.hashCode(groupFun.mount(v1)));
+        Iterator<V> sorted = IteratorForExternalSort.sort(read(partition), byHash, spill, 0, IteratorForSlice.NO_LIMIT);
+        try (SegmentWriter writer = new SegmentWriter()) {
+            K runKey = null;
+            int runHash = 0;
+            boolean running = false;
+            SegmentWriter collisions = null;
+            Set<K> collided = null;
+            while (sorted.hasNext()) {
+                V v = sorted.next();
+                K k = groupFun.mount(v);
+                int h = Objects.hashCode(k);
+                if (!running || h != runHash) {
+                    if (running) {
+                        endRun(writer, runKey, collisions, collided, entries);
+                        collisions = null;
+                        collided = null;
+                    }
+                    writer.begin();
+                    runKey  = k;
+                    runHash = h;
+                    running = true;
+                } else if (!Objects.equals(runKey, k)) {
+                    if (collisions == null) {
+                        collisions = new SegmentWriter();
+                        collisions.begin();
+                        collided = new LinkedHashSet<>();
+                    }
+                    collisions.write(v);
+                    collided.add(k);
+                    continue;
+                }
+                writer.write(v);
+            }
+
+            if (running) {
+                endRun(writer, runKey, collisions, collided, entries);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            IteratorForPush.close(sorted);
+            delete(partition.file);
+        }
+    }
+
+    /**
+     * End segment of key and write segments of keys colliding with it (same hash), reading collisions for each one.
+     */
+    private void endRun(SegmentWriter writer, K key, SegmentWriter collisions, Set<K> collided,
+                        List<Map.Entry<K, IterableResult<V>>> entries) throws IOException {
+        entries.add(segmentEntry(key, writer.end()));
+        if (collisions == null) {
+            return;
+        }
+
+        Segment all = collisions.end();
+        collisions.close();
+        for (K k : collided) {
+            writer.begin();
+            try (PartitionReader reader = new PartitionReader(all)) {
+                while (reader.hasNext()) {
+                    V v = reader.next();
+                    if (Objects.equals(k, groupFun.mount(v))) {
+                        writer.write(v);
+                    }
+                }
+            }
+            entries.add(segmentEntry(k, writer.end()));
+        }
+        delete(all.file);
+    }
+
+    private Map.Entry<K, IterableResult<V>> segmentEntry(K key, Segment segment) {
+        return new AbstractMap.SimpleImmutableEntry<>(key, new IterableResult<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new PartitionReader(segment);
+            }
+        });
+    }
+    //endregion
+
+    //region delete
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                //reader is released, nothing more to do.
+            }
+        }
+    }
+
+    private void delete(File file) {
+        Spill.deleteFile(file);
+        synchronized (lock) {
+            spilled.remove(file);
+        }
+    }
+
+    private void delete() {
+        synchronized (lock) {
+            for (File file : spilled) {
+                Spill.deleteFile(file);
+            }
+            spilled.clear();
+            loaded = null;
+            loadedGroups = null;
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,250 @@
+package atomatus.linq;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Generated result of long values from {@link CollectionHelper} or {@link IterableResult},
+ * all actions read elements how primitive long, without boxing them to Long.
+ *
+ * @author Carlos Matos
+ */
+public abstract class LongIterableResult implements Iterable<Long> {
+
+    @Override
+    public abstract PrimitiveIterator.OfLong iterator();
+
+    /**
+     * Convert current iterable result to array.
+     *
+     * @return new array within iterable elements.
+     */
+    public long[] toArray() {
+        long[] arr = new long[16];
+        int size = 0;
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            if(size == arr.length) {
+                arr = Arrays.copyOf(arr, size << 1);
+            }
+            arr[size++] = it.nextLong();
+        }
+        return size == arr.length ? arr : Arrays.copyOf(arr, size);
+    }
+
+    /**
+     * Filter values by condition.
+     *
+     * @param where condition to accept value
+     * @return new iterable result with accepted values.
+     */
+    public LongIterableResult filter(CollectionHelper.CompareLongEntryValid where) {
+        return IterableResultFactory.getInstanceForLongFilter(this, where);
+    }
+
+    /**
+     * Mount a new value from each value.
+     *
+     * @param mount function to mount new value
+     * @return new iterable result with mounted values.
+     */
+    public LongIterableResult select(CollectionHelper.FunctionMountLong mount) {
+        return IterableResultFactory.getInstanceForLongSelect(this, mount);
+    }
+
+    /**
+     * How like literally named, "jump" values returning all others values after offset count it.
+     *
+     * @param count count of values will be discarted
+     * @return new iterable result with values after offset count.
+     */
+    public LongIterableResult jump(int count) {
+        return IterableResultFactory.getInstanceForLongJump(this, count);
+    }
+
+    /**
+     * Take only amount of values set on count.
+     *
+     * @param count count of values
+     * @return new iterable result with taked values.
+     */
+    public LongIterableResult take(int count) {
+        return IterableResultFactory.getInstanceForLongTake(this, count);
+    }
+
+    /**
+     * Count of values on iterable result.
+     *
+     * @return count of values
+     */
+    public int count() {
+        int count = 0;
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            it.nextLong();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sum of all values.
+     *
+     * @return sum result, zero when empty.
+     */
+    public long sum() {
+        long sum = 0;
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            sum += it.nextLong();
+        }
+        return sum;
+    }
+
+    /**
+     * Average of all values, sum is accumulated how long
+     * and how BigInteger once it overflows long range.
+     *
+     * @return average result, NaN when empty.
+     */
+    public double average() {
+        long sum = 0, count = 0;
+        BigInteger bigSum = null;
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            long curr = it.nextLong();
+            count++;
+            if (bigSum != null) {
+                bigSum = bigSum.add(BigInteger.valueOf(curr));
+            } else {
+                try {
+                    sum = Math.addExact(sum, curr);
+                } catch (ArithmeticException ex) {
+                    bigSum = BigInteger.valueOf(sum).add(BigInteger.valueOf(curr));
+                }
+            }
+        }
+        return count == 0 ? Double.NaN : bigSum == null ? (double) sum / count :
+                new BigDecimal(bigSum).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue();
+    }
+
+    /**
+     * Min value.
+     *
+     * @return min value
+     * @throws NoSuchElementException when empty.
+     */
+    public long min() {
+        PrimitiveIterator.OfLong it = iterator();
+        long min = it.nextLong();
+        while (it.hasNext()) {
+            long curr = it.nextLong();
+            if(curr < min) {
+                min = curr;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Max value.
+     *
+     * @return max value
+     * @throws NoSuchElementException when empty.
+     */
+    public long max() {
+        PrimitiveIterator.OfLong it = iterator();
+        long max = it.nextLong();
+        while (it.hasNext()) {
+            long curr = it.nextLong();
+            if(curr > max) {
+                max = curr;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Reduce method execute the reduceFun function to generate an accumulate result for each value.
+     *
+     * @param reduceFun reduce function
+     * @param acc       initial accumulate value
+     * @return accumulated result
+     */
+    public long reduce(CollectionHelper.FunctionReduceLong reduceFun, long acc) {
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            acc = reduceFun.reduce(acc, it.nextLong());
+        }
+        return acc;
+    }
+
+    /**
+     * A simple foreach action.
+     *
+     * @param action action to recover each value
+     */
+    public void foreach(CollectionHelper.ForEachLongEntryConsumer action) {
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            action.accept(it.nextLong());
+        }
+    }
+
+    /**
+     * Check if all values pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when all values pass on test action.
+     */
+    public boolean all(CollectionHelper.CompareLongEntryValid action) {
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            if(!action.isValid(it.nextLong())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if at least one value pass on test action.
+     *
+     * @param action check pass action
+     * @return return true when at least one value pass on test action.
+     */
+    public boolean any(CollectionHelper.CompareLongEntryValid action) {
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            if(action.isValid(it.nextLong())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert current result values to double.
+     * @return new iterable result of double values.
+     */
+    public DoubleIterableResult asDouble() {
+        return IterableResultFactory.getInstanceForLongAsDouble(this);
+    }
+
+    /**
+     * Convert current result values to Long objects.
+     * @return new iterable result of boxed values.
+     */
+    public IterableResult<Long> boxed() {
+        return IterableResultFactory.getInstanceForLongBoxed(this);
+    }
+
+    @Override
+    public String toString() {
+        return IteratorForJoin.join("[", "]", ", ", this);
+    }
+}
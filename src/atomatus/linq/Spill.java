@@ -0,0 +1,248 @@
+package atomatus.linq;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spill policy of groupBy and orderBy for data sets larger than memory.
+ * On groupBy, when more elements than memory budget are grouped
+ * elements are hashed by key out to partitions on temporary files and each partition is grouped in turn,
+ * keeping only one partition in memory at a time.
+ * On orderBy, each budget of elements is sorted and written on a temporary file (sorted run),
+ * then runs are merged on demand.
+ * Temporary files are deleted when no longer read (group files when no recovered group result reads them)
+ * and on JVM exit.
+ *
+ * @param <V> element type
+ * @author Carlos Matos
+ */
+public final class Spill<V> {
+
+    /**
+     * Serialization of elements on spill files.
+     *
+     * @param <V> element type
+     */
+    public interface Codec<V> {
+
+        /**
+         * Write element.
+         * @param out   target
+         * @param value element
+         * @throws IOException on write error
+         */
+        void write(DataOutput out, V value) throws IOException;
+
+        /**
+         * Read element, on same order of written data.
+         * @param in source
+         * @return element
+         * @throws IOException on read error
+         */
+        V read(DataInput in) throws IOException;
+    }
+
+    /**
+     * Java serialization, spill files are object streams.
+     */
+    private static final Codec<Serializable> SERIALIZABLE = new Codec<Serializable>() {
+        @Override
+        public void write(DataOutput out, Serializable value) throws IOException {
+            ((ObjectOutput) out).writeObject(value);
+        }
+
+        @Override
+        public Serializable read(DataInput in) throws IOException {
+            try {
+                return (Serializable) ((ObjectInput) in).readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+    };
+
+    /**
+     * Spill files not deleted yet, deleted on JVM exit by a single shutdown hook.
+     * Unlike File.deleteOnExit, deleted files leave the set, so it does not grow on long running processes.
+     * Files of an owner are deleted once owner is unreachable, checked when next spill file is created.
+     */
+    private static final class Files {
+
+        private static final Set<File> LIVE = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private static final Set<Owned> OWNED = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+        /**
+         * Files of an owner, enqueued when owner is unreachable.
+         */
+        private static final class Owned extends PhantomReference<Object> {
+            private final Collection<File> files;
+
+            Owned(Object owner, Collection<File> files) {
+                super(owner, QUEUE);
+                this.files = files;
+            }
+        }
+
+        /**
+         * Delete files of unreachable owners.
+         */
+        static void expunge() {
+            for (Reference<?> ref; (ref = QUEUE.poll()) != null; ) {
+                Owned owned = (Owned) ref;
+                OWNED.remove(owned);
+                synchronized (owned.files) {
+                    for (File file : owned.files) {
+                        deleteFile(file);
+                    }
+                    owned.files.clear();
+                }
+            }
+        }
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                for (File file : LIVE) {
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                }
+            }));
+        }
+    }
+
+    static final int DEFAULT_PARTITIONS = 64;
+
+    private final int budget;
+    private final Codec<V> codec;
+    private final File directory;
+    private final int partitions;
+
+    private Spill(int budget, Codec<V> codec, File directory, int partitions) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Budget can not be less then 1!");
+        }
+        this.budget     = budget;
+        this.codec      = Objects.requireNonNull(codec);
+        this.directory  = directory;
+        this.partitions = partitions;
+    }
+
+    //region factory
+
+    /**
+     * Spill policy using java serialization of elements.
+     *
+     * @param budget max count of grouped or sorted elements kept in memory.
+     * @param <V>    element type
+     * @return new spill policy
+     */
+    @SuppressWarnings("unchecked")
+    public static <V extends Serializable> Spill<V> of(int budget) {
+        return new Spill<>(budget, (Codec<V>) SERIALIZABLE, null, DEFAULT_PARTITIONS);
+    }
+
+    /**
+     * Spill policy using a custom serialization of elements.
+     *
+     * @param budget max count of grouped or sorted elements kept in memory.
+     * @param codec  elements serialization.
+     * @param <V>    element type
+     * @return new spill policy
+     */
+    public static <V> Spill<V> of(int budget, Codec<V> codec) {
+        return new Spill<>(budget, codec, null, DEFAULT_PARTITIONS);
+    }
+    //endregion
+
+    //region options
+
+    /**
+     * Set directory of spill files, by default system temporary directory.
+     *
+     * @param directory target directory.
+     * @return new spill policy
+     */
+    public Spill<V> directory(File directory) {
+        return new Spill<>(budget, codec, Objects.requireNonNull(directory), partitions);
+    }
+
+    /**
+     * Set count of partitions (rounded up to a power of two) created on each groupBy spill.
+     *
+     * @param count partitions count.
+     * @return new spill policy
+     */
+    public Spill<V> partitions(int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Count can not be less then 2!");
+        }
+        return new Spill<>(budget, codec, directory, Integer.highestOneBit(count - 1) << 1);
+    }
+    //endregion
+
+    //region getters
+    int getBudget() {
+        return budget;
+    }
+
+    Codec<V> getCodec() {
+        return codec;
+    }
+
+    int getPartitions() {
+        return partitions;
+    }
+    //endregion
+
+    //region files
+
+    /**
+     * Create a temporary spill file on directory of policy, deleted on JVM exit when it is not deleted before.
+     *
+     * @param prefix file name prefix
+     * @return new empty file
+     * @throws IOException when file can not be created.
+     */
+    File createFile(String prefix) throws IOException {
+        Files.expunge();
+        File file = File.createTempFile(prefix, ".spill", directory);
+        Files.LIVE.add(file);
+        return file;
+    }
+
+    /**
+     * Delete spill file.
+     *
+     * @param file target
+     */
+    static void deleteFile(File file) {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        Files.LIVE.remove(file);
+    }
+
+    /**
+     * Delete files when owner is unreachable, checked when next spill file is created (or on JVM exit).
+     *
+     * @param owner owner of files, reachable while its files are read
+     * @param files files of owner, synchronized collection changed by owner
+     */
+    static void deleteWhenUnreachable(Object owner, Collection<File> files) {
+        Files.expunge();
+        Files.OWNED.add(new Files.Owned(owner, files));
+    }
+    //endregion
+}